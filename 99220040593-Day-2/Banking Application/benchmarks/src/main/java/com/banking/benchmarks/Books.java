@@ -0,0 +1,90 @@
+package com.banking.benchmarks;
+
+import com.banking.model.Account;
+import com.banking.model.CurrentAccount;
+import com.banking.repository.BinarySnapshot;
+import com.banking.repository.Durability;
+import com.banking.repository.FileAccountRepository;
+import com.banking.repository.SnapshotFormat;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Builds benchmark books on disk. Accounts are created directly and
+ * written as one snapshot, then opened through FileAccountRepository, so
+ * setup goes through the real load path instead of a million journaled
+ * createAccount calls.
+ */
+final class Books {
+    static final String[] FIRST_NAMES = { "Rahul", "Priya", "Amit", "Sneha", "Vikram", "Anjali", "Suresh", "Kavya",
+            "Arjun", "Meera", "Rohit", "Divya", "Karthik", "Lakshmi", "Sanjay", "Pooja" };
+    static final String[] LAST_NAMES = { "Sharma", "Kumar", "Singh", "Patel", "Reddy", "Iyer", "Nair", "Gupta",
+            "Shah", "Rao", "Menon", "Das", "Joshi", "Verma", "Mehta", "Pillai" };
+
+    private static final PrintStream STDOUT = System.out;
+
+    private Books() {
+    }
+
+    static String accountNumber(int i) {
+        return String.format("CUR%07d", i + 1);
+    }
+
+    // Current accounts with a large balance and no overdraft, each with 'depth' deposits of history
+    static Path write(int accounts, int depth, SnapshotFormat format) throws IOException {
+        Path dir = Files.createTempDirectory("bank-bench");
+        Path snapshot = dir.resolve(format == SnapshotFormat.BINARY ? "accounts.bin" : "accounts.ser");
+        List<Account> book = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            Account account = new CurrentAccount(accountNumber(i), holderName(i), "AADHAAR" + i, 10_000_000, 0);
+            for (int d = 0; d < depth; d++) {
+                account.deposit(1 + d % 100, "Deposit " + d % 8);
+            }
+            book.add(account);
+        }
+        if (format == SnapshotFormat.BINARY) {
+            BinarySnapshot.write(book, snapshot);
+        } else {
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(snapshot.toFile())))) {
+                out.writeObject(book);
+            }
+        }
+        return snapshot;
+    }
+
+    // Compaction is pushed out of reach so a save never lands inside a measurement
+    static FileAccountRepository open(Path snapshot, SnapshotFormat format) {
+        return new FileAccountRepository(snapshot.toString(), Long.MAX_VALUE, format, Durability.BUFFERED);
+    }
+
+    static String holderName(int i) {
+        return FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    // The service logs every account it opens and every save; keep that out of the results
+    static void silence() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    static void restore() {
+        System.setOut(STDOUT);
+    }
+
+    static void delete(Path snapshot) throws IOException {
+        try (Stream<Path> files = Files.walk(snapshot.getParent())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
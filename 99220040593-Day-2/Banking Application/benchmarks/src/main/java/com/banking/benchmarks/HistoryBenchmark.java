@@ -0,0 +1,83 @@
+package com.banking.benchmarks;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.model.Transaction;
+import com.banking.repository.SnapshotFormat;
+import com.banking.service.BankService;
+import com.banking.service.BankServiceImpl;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * History reads across history depths. The book is loaded from a binary
+ * snapshot, so with more than 64 entries per account a full statement
+ * also pages the older ones in from the file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class HistoryBenchmark {
+    private static final int ACCOUNTS = 1000;
+
+    @Param({ "16", "1024", "16384" })
+    public int depth;
+
+    private Path snapshot;
+    private BankService bank;
+    private final String[] numbers = new String[ACCOUNTS];
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Books.silence();
+        from = LocalDateTime.now().minusDays(1);
+        snapshot = Books.write(ACCOUNTS, depth, SnapshotFormat.BINARY);
+        bank = new BankServiceImpl(Books.open(snapshot, SnapshotFormat.BINARY), "BENCH BANK", "BNCH0000001");
+        to = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            numbers[i] = Books.accountNumber(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Books.restore();
+        Books.delete(snapshot);
+    }
+
+    @Benchmark
+    public List<Transaction> getLastTransactions(Cursor cursor) throws AccountNotFoundException {
+        return bank.getLastTransactions(numbers[cursor.next++ % ACCOUNTS], 10);
+    }
+
+    // Every entry of one account, oldest first
+    @Benchmark
+    public List<Transaction> fullStatement(Cursor cursor) throws AccountNotFoundException {
+        return bank.getStatement(numbers[cursor.next++ % ACCOUNTS], from, to);
+    }
+}
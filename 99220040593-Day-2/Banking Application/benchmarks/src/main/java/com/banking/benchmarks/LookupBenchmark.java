@@ -0,0 +1,83 @@
+package com.banking.benchmarks;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.model.Account;
+import com.banking.repository.SnapshotFormat;
+import com.banking.service.BankService;
+import com.banking.service.BankServiceImpl;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Point lookups and holder-name search against books of growing size
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+    private static final int KEYS = 4096; // power of two, picked with a mask
+    private static final String[] QUERIES = { "sha", "Priya", "kum", "arj", "rao", "Meera N", "ee", "lakshmi" };
+
+    @Param({ "1000", "100000", "1000000" })
+    public int accounts;
+
+    private Path snapshot;
+    private BankService bank;
+    private final String[] numbers = new String[KEYS];
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Books.silence();
+        snapshot = Books.write(accounts, 4, SnapshotFormat.BINARY);
+        bank = new BankServiceImpl(Books.open(snapshot, SnapshotFormat.BINARY), "BENCH BANK", "BNCH0000001");
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < KEYS; i++) {
+            numbers[i] = Books.accountNumber(random.nextInt(accounts));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Books.restore();
+        Books.delete(snapshot);
+    }
+
+    @Benchmark
+    public Account findAccount(Cursor cursor) throws AccountNotFoundException {
+        return bank.findAccount(numbers[cursor.next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Account findAccountParallel(Cursor cursor) throws AccountNotFoundException {
+        return bank.findAccount(numbers[cursor.next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public List<Account> searchByHolderName(Cursor cursor) {
+        return bank.searchByHolderName(QUERIES[cursor.next++ & (QUERIES.length - 1)], 20);
+    }
+}
@@ -0,0 +1,74 @@
+package com.banking.benchmarks;
+
+import com.banking.model.Account;
+import com.banking.repository.FileAccountRepository;
+import com.banking.repository.SnapshotFormat;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Snapshot writes and loads for both formats. Each call is a whole-book
+ * operation, so every invocation is timed on its own.
+ *
+ * open is what startup pays: load, index rebuild and journal replay.
+ * loadAll decodes the whole file with every transaction resident.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+    @Param({ "1000", "100000", "1000000" })
+    public int accounts;
+
+    @Param({ "BINARY", "SERIALIZED" })
+    public SnapshotFormat format;
+
+    private Path snapshot;
+    private FileAccountRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Books.silence();
+        snapshot = Books.write(accounts, 8, format);
+        repository = Books.open(snapshot, format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Books.restore();
+        Books.delete(snapshot);
+    }
+
+    @Benchmark
+    public void saveToDisk() {
+        repository.saveToDisk();
+    }
+
+    @Benchmark
+    public FileAccountRepository open() {
+        return Books.open(snapshot, format);
+    }
+
+    @Benchmark
+    public List<Account> loadAll() {
+        return repository.loadAll();
+    }
+}
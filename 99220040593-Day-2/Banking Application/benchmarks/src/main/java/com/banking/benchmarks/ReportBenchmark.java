@@ -0,0 +1,68 @@
+package com.banking.benchmarks;
+
+import com.banking.repository.SnapshotFormat;
+import com.banking.service.BankService;
+import com.banking.service.BankServiceImpl;
+import com.banking.service.BookView;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Whole-book reads: the summary report, built in memory or streamed, and opening a read view
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+    @Param({ "1000", "100000", "1000000" })
+    public int accounts;
+
+    private Path snapshot;
+    private BankService bank;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Books.silence();
+        snapshot = Books.write(accounts, 4, SnapshotFormat.BINARY);
+        bank = new BankServiceImpl(Books.open(snapshot, SnapshotFormat.BINARY), "BENCH BANK", "BNCH0000001");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Books.restore();
+        Books.delete(snapshot);
+    }
+
+    @Benchmark
+    public String generateSummaryReport() {
+        return bank.generateSummaryReport();
+    }
+
+    @Benchmark
+    public void writeSummaryReport() throws IOException {
+        bank.writeSummaryReport(Writer.nullWriter());
+    }
+
+    @Benchmark
+    public long openView() {
+        try (BookView view = bank.openView()) {
+            return view.getEpoch();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.banking.benchmarks;
+
+import com.banking.repository.SnapshotFormat;
+import com.banking.service.BankService;
+import com.banking.service.BankServiceImpl;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deposits and transfers through the full service path: stripe locks,
+ * history append, aggregates, read-view publishing and a buffered journal
+ * write. The parallel variants report throughput across 8 threads, which
+ * shows how well the striped locks spread contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TransactionBenchmark {
+    private static final int KEYS = 4096;
+
+    @Param({ "1000", "100000" })
+    public int accounts;
+
+    private Path snapshot;
+    private BankService bank;
+    private final String[] numbers = new String[KEYS];
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = (int) Thread.currentThread().threadId() * 97;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Books.silence();
+        snapshot = Books.write(accounts, 16, SnapshotFormat.BINARY);
+        bank = new BankServiceImpl(Books.open(snapshot, SnapshotFormat.BINARY), "BENCH BANK", "BNCH0000001");
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < KEYS; i++) {
+            numbers[i] = Books.accountNumber(random.nextInt(accounts));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Books.restore();
+        Books.delete(snapshot);
+    }
+
+    @Benchmark
+    public void deposit(Cursor cursor) throws Exception {
+        bank.deposit(numbers[cursor.next++ & (KEYS - 1)], 10, "Bench deposit");
+    }
+
+    // Amounts are tiny next to the starting balance, so no transfer is ever rejected
+    @Benchmark
+    public void transfer(Cursor cursor) throws Exception {
+        bank.transfer(numbers[cursor.next++ & (KEYS - 1)], numbers[cursor.next++ & (KEYS - 1)], 1,
+                "Bench transfer");
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void depositParallel(Cursor cursor) throws Exception {
+        bank.deposit(numbers[cursor.next++ & (KEYS - 1)], 10, "Bench deposit");
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void transferParallel(Cursor cursor) throws Exception {
+        bank.transfer(numbers[cursor.next++ & (KEYS - 1)], numbers[cursor.next++ & (KEYS - 1)], 1,
+                "Bench transfer");
+    }
+}
@@ -0,0 +1,9 @@
+package com.banking.exception;
+
+public class TransactionRejectedException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public TransactionRejectedException(String message) {
+        super(message);
+    }
+}
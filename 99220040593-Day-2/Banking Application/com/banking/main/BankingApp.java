@@ -1,9 +1,23 @@
 package com.banking.main;
 
+import com.banking.metrics.BankMetrics;
+import com.banking.metrics.InstrumentedAccountRepository;
+import com.banking.metrics.InstrumentedBankService;
+import com.banking.model.Account;
 import com.banking.model.AccountType;
 import com.banking.service.BankService;
 import com.banking.service.BankServiceImpl;
+import com.banking.repository.BinarySnapshot;
+import com.banking.repository.Durability;
 import com.banking.repository.FileAccountRepository;
+import com.banking.repository.SnapshotFormat;
+import com.banking.server.BankHttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.Scanner;
 
 public class BankingApp {
@@ -14,10 +28,29 @@ public class BankingApp {
         Scanner sc = new Scanner(System.in);
 
         // Initialize dependencies
-        // Using "accounts.ser" for the new data format to avoid conflict/error with old
-        // "bank_data.ser"
-        FileAccountRepository repository = new FileAccountRepository("accounts.ser");
-        bankService = new BankServiceImpl(repository, "INDIAN BANK", "INDI0000001");
+        // "accounts.bin" holds the binary snapshot format; an existing "accounts.ser"
+        // book is migrated on first start. Every operation waits for its group-committed fsync.
+        migrateSerializedBook("accounts.ser", "accounts.bin");
+        FileAccountRepository repository = new FileAccountRepository("accounts.bin", SnapshotFormat.BINARY,
+                Durability.SYNC);
+        // Per-operation latency and error metrics, published over JMX under "com.banking"
+        BankMetrics metrics = new BankMetrics();
+        bankService = new InstrumentedBankService(
+                new BankServiceImpl(new InstrumentedAccountRepository(repository, metrics), "INDIAN BANK",
+                        "INDI0000001"),
+                metrics);
+
+        // "--server [port]" serves the bank over HTTP instead of the menu
+        boolean server = args.length > 0 && args[0].equals("--server");
+        // "-Dbanking.metricsPeriod=N" prints a metrics table every N seconds (0 = off)
+        long metricsPeriod = Long.getLong("banking.metricsPeriod", server ? 60 : 0);
+        if (metricsPeriod > 0) {
+            metrics.startReporter(metricsPeriod, System.out);
+        }
+        if (server) {
+            startServer(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            return;
+        }
 
         System.out.println("🏦 Welcome to Abstracted Banking System!");
 
@@ -33,9 +66,10 @@ public class BankingApp {
                     case 3 -> depositWithdraw(sc, false);
                     case 4 -> transferFunds(sc);
                     case 5 -> bankService.calculateInterest();
-                    case 6 -> System.out.println(bankService.generateSummaryReport());
+                    case 6 -> bankService.writeSummaryReport(new OutputStreamWriter(System.out));
                     case 7 -> showTransactions(sc);
-                    case 8 -> {
+                    case 8 -> generateStatements(sc);
+                    case 9 -> {
                         bankService.saveData();
                         System.out.println("👋 Thank you for banking!");
                         return;
@@ -48,6 +82,35 @@ public class BankingApp {
         }
     }
 
+    private static void startServer(int port) {
+        try {
+            BankHttpServer server = new BankHttpServer(bankService, port);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                try {
+                    bankService.saveData();
+                } catch (UncheckedIOException e) {
+                    System.out.println("❌ Error: " + e.getMessage());
+                }
+            }));
+            server.start();
+        } catch (IOException e) {
+            System.out.println("❌ Server failed to start: " + e.getMessage());
+        }
+    }
+
+    private static void migrateSerializedBook(String serializedFile, String binaryFile) {
+        if (new File(binaryFile).exists() || !new File(serializedFile).exists()) {
+            return;
+        }
+        try {
+            BinarySnapshot.convert(serializedFile, binaryFile);
+            System.out.println("🔁 Migrated " + serializedFile + " to " + binaryFile);
+        } catch (IOException e) {
+            System.out.println("❌ Migration failed: " + e.getMessage());
+        }
+    }
+
     private static void displayMenu() {
         System.out.println("\n📋 MENU:");
         System.out.println("1.  Create Account");
@@ -57,7 +120,8 @@ public class BankingApp {
         System.out.println("5.  Apply Interest");
         System.out.println("6.  Bank Summary");
         System.out.println("7.  Transactions");
-        System.out.println("8.  Save & Exit");
+        System.out.println("8.  Daily Statements");
+        System.out.println("9.  Save & Exit");
         System.out.print("👉 Choose: ");
     }
 
@@ -78,19 +142,21 @@ public class BankingApp {
             default -> AccountType.SAVINGS;
         };
 
+        Account account;
         if (type == 2) {
             System.out.print("Overdraft Limit: ₹");
             double overdraft = sc.nextDouble();
-            bankService.createAccount(name, aadhaar, accType, deposit, overdraft);
+            account = bankService.createAccount(name, aadhaar, accType, deposit, overdraft);
         } else if (type == 3) {
             System.out.print("Tenure (months): ");
             int tenure = sc.nextInt();
             System.out.print("Interest Rate (%): ");
             double rate = sc.nextDouble();
-            bankService.createAccount(name, aadhaar, accType, deposit, (double) tenure, rate);
+            account = bankService.createAccount(name, aadhaar, accType, deposit, (double) tenure, rate);
         } else {
-            bankService.createAccount(name, aadhaar, accType, deposit);
+            account = bankService.createAccount(name, aadhaar, accType, deposit);
         }
+        System.out.println("✅ Account created: " + account);
     }
 
     private static void depositWithdraw(Scanner sc, boolean isDeposit) {
@@ -139,4 +205,17 @@ public class BankingApp {
             System.out.println("❌ " + e.getMessage());
         }
     }
+
+    // "-Dbanking.statementDir=DIR" sets where statement files go (default "statements")
+    private static void generateStatements(Scanner sc) {
+        try {
+            System.out.print("Date (yyyy-MM-dd, blank for today): ");
+            String input = sc.nextLine().trim();
+            LocalDate date = input.isEmpty() ? LocalDate.now() : LocalDate.parse(input);
+            Path outputDir = Path.of(System.getProperty("banking.statementDir", "statements"));
+            System.out.println("🧾 Statements: " + bankService.generateStatements(date, outputDir));
+        } catch (Exception e) {
+            System.out.println("❌ " + e.getMessage());
+        }
+    }
 }
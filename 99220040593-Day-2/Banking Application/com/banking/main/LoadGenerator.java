@@ -0,0 +1,186 @@
+package com.banking.main;
+
+import com.banking.metrics.BankMetrics;
+import com.banking.metrics.InstrumentedAccountRepository;
+import com.banking.metrics.InstrumentedBankService;
+import com.banking.repository.Durability;
+import com.banking.repository.FileAccountRepository;
+import com.banking.repository.SnapshotFormat;
+import com.banking.server.BankHttpServer;
+import com.banking.service.BankService;
+import com.banking.service.BankServiceImpl;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Drives the HTTP front-end with a deposit/withdraw/transfer mix and reports throughput and latency.
+// Usage: LoadGenerator [baseUrl|embedded] [concurrency] [seconds] [accounts] [durability]
+public class LoadGenerator {
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("\"accountNumber\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "embedded";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int accountCount = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        Durability durability = args.length > 4 ? Durability.valueOf(args[4].toUpperCase()) : Durability.SYNC;
+
+        BankHttpServer embedded = null;
+        FileAccountRepository repository = null;
+        BankMetrics metrics = null;
+        File data = null;
+        String baseUrl = target;
+        if (target.equals("embedded")) {
+            // Self-contained run against a throwaway book on a free port
+            data = File.createTempFile("load", ".bin");
+            data.delete();
+            repository = new FileAccountRepository(data.getPath(), SnapshotFormat.BINARY, durability);
+            metrics = new BankMetrics(false);
+            BankService service = new BankServiceImpl(new InstrumentedAccountRepository(repository, metrics),
+                    "LOAD BANK", "LOAD0000001");
+            embedded = new BankHttpServer(new InstrumentedBankService(service, metrics), 0);
+            embedded.start();
+            baseUrl = "http://localhost:" + embedded.getPort();
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            String body = "{\"holderName\":\"Load " + i + "\",\"aadhaar\":\"LOAD" + i
+                    + "\",\"type\":\"CURRENT\",\"initialDeposit\":1000000,\"overdraftLimit\":0}";
+            HttpResponse<String> response = client.send(post(baseUrl + "/accounts", body),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher m = ACCOUNT_NUMBER.matcher(response.body());
+            if (response.statusCode() != 201 || !m.find()) {
+                System.out.println("❌ Could not create load accounts: " + response.body());
+                return;
+            }
+            accounts.add(m.group(1));
+        }
+
+        System.out.println("🚀 " + concurrency + " clients for " + seconds + "s against " + baseUrl);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<Worker>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                Worker worker = new Worker(client, baseUrl, accounts, deadline);
+                futures.add(clients.submit(worker::call));
+            }
+        }
+
+        long[] latencies = new long[0];
+        long ok = 0;
+        long rejected = 0;
+        long failed = 0;
+        for (Future<Worker> future : futures) {
+            Worker w = future.get();
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + w.count);
+            System.arraycopy(w.latencies, 0, latencies, offset, w.count);
+            ok += w.ok;
+            rejected += w.rejected;
+            failed += w.failed;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("Requests: %d (%d ok, %d rejected, %d failed)%n", latencies.length, ok, rejected, failed);
+        System.out.printf("Throughput: %.0f req/s%n", latencies.length / (double) seconds);
+        System.out.printf("Latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(latencies, 50), percentile(latencies, 99), percentile(latencies, 100));
+
+        if (embedded != null) {
+            System.out.println("Journal fsyncs (" + durability + "): " + repository.getJournalSyncCount());
+            System.out.print(metrics.report()); // server-side view of the same run
+            embedded.stop();
+            data.delete();
+            new File(data.getPath() + ".journal").delete();
+            new File(data.getPath() + ".seq").delete();
+        }
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static class Worker {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final List<String> accounts;
+        private final long deadline;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long ok;
+        private long rejected;
+        private long failed;
+
+        Worker(HttpClient client, String baseUrl, List<String> accounts, long deadline) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.accounts = accounts;
+            this.deadline = deadline;
+        }
+
+        Worker call() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                String account = accounts.get(random.nextInt(accounts.size()));
+                int amount = random.nextInt(1, 1000);
+                int op = random.nextInt(10);
+                HttpRequest request;
+                if (op < 6) {
+                    request = post(baseUrl + "/accounts/" + account + "/deposit", "{\"amount\":" + amount + "}");
+                } else if (op < 8) {
+                    request = post(baseUrl + "/accounts/" + account + "/withdraw", "{\"amount\":" + amount + "}");
+                } else {
+                    String to = accounts.get(random.nextInt(accounts.size()));
+                    request = post(baseUrl + "/transfers", "{\"from\":\"" + account + "\",\"to\":\"" + to
+                            + "\",\"amount\":" + amount + "}");
+                }
+                long start = System.nanoTime();
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status < 300) {
+                        ok++;
+                    } else if (status < 500) {
+                        rejected++; // e.g. insufficient funds
+                    } else {
+                        failed++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                }
+                record(System.nanoTime() - start);
+            }
+            return this;
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.banking.main;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.repository.Durability;
+import com.banking.repository.ShardedAccountRepository;
+import com.banking.repository.SnapshotFormat;
+import com.banking.service.BankService;
+import com.banking.service.BankServiceImpl;
+import com.banking.service.TransferInstruction;
+import com.banking.service.TransferResult;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Transfers across a multi-shard book, then reloads it and checks that every shard came back intact
+public class ShardedStressTest {
+    private static final int SHARDS = 4;
+    private static final int ACCOUNTS = 64;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 1_000;
+    private static final int BATCH_SIZE = 8;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("sharded-stress");
+        String filename = dir.resolve("accounts.bin").toString();
+        ShardedAccountRepository repository = new ShardedAccountRepository(filename, SHARDS, 1_000,
+                SnapshotFormat.BINARY, Durability.SYNC);
+        BankService bank = new BankServiceImpl(repository, "STRESS BANK", "STRS0000001", 8);
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bank.createAccount("Holder " + i, "AADHAAR" + i, AccountType.CURRENT, 100_000, 0.0);
+        }
+        List<Account> accounts = bank.getAllAccounts();
+        double expectedTotal = totalBalance(accounts);
+        System.out.println("Starting Sharded Stress Test (" + SHARDS + " shards)...");
+
+        // Phase 1 ends in a snapshot of every shard; phase 2 is left in the shard journals
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        if (!runTransfers(bank, accounts, succeeded, rejected)) {
+            return;
+        }
+        bank.saveData();
+        if (!runTransfers(bank, accounts, succeeded, rejected)) {
+            return;
+        }
+
+        double actualTotal = totalBalance(accounts);
+        if (Math.abs(actualTotal - expectedTotal) < 0.001) {
+            System.out.println("Test 1 Passed: total balance conserved at ₹" + actualTotal);
+        } else {
+            System.out.println("Test 1 Failed: expected ₹" + expectedTotal + " but found ₹" + actualTotal);
+        }
+
+        int[] perShard = new int[SHARDS];
+        for (Account acc : accounts) {
+            perShard[repository.shardOf(acc.getAccountNumber())]++;
+        }
+        long emptyShards = Arrays.stream(perShard).filter(count -> count == 0).count();
+        if (emptyShards == 0) {
+            System.out.println("Test 2 Passed: accounts spread over all shards " + Arrays.toString(perShard));
+        } else {
+            System.out.println("Test 2 Failed: " + emptyShards + " shards hold no accounts");
+        }
+
+        Map<String, Account> before = new HashMap<>();
+        for (Account acc : accounts) {
+            before.put(acc.getAccountNumber(), acc);
+        }
+        ShardedAccountRepository reopened = new ShardedAccountRepository(filename, SHARDS, 1_000,
+                SnapshotFormat.BINARY, Durability.SYNC);
+        List<Account> reloaded = reopened.getAllAccounts();
+        int mismatches = 0;
+        for (Account acc : reloaded) {
+            Account original = before.get(acc.getAccountNumber());
+            if (original == null || Math.abs(original.getBalance() - acc.getBalance()) > 0.001
+                    || original.getTransactions().size() != acc.getTransactions().size()) {
+                mismatches++;
+            }
+        }
+        double reloadedTotal = totalBalance(reloaded);
+        if (reloaded.size() == ACCOUNTS && mismatches == 0 && Math.abs(reloadedTotal - expectedTotal) < 0.001) {
+            System.out.println("Test 3 Passed: reloaded " + reloaded.size() + " accounts from snapshots and journals,"
+                    + " total ₹" + reloadedTotal);
+        } else {
+            System.out.println("Test 3 Failed: reloaded " + reloaded.size() + " accounts, " + mismatches
+                    + " differ, total ₹" + reloadedTotal);
+        }
+
+        System.out.println("Transfers: " + succeeded.get() + " succeeded, " + rejected.get() + " rejected");
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    // Single transfers and multi-shard batches from many threads; false if they did not finish
+    private static boolean runTransfers(BankService bank, List<Account> accounts, AtomicLong succeeded,
+            AtomicLong rejected) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            boolean batches = t % 2 == 0;
+            pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i += batches ? BATCH_SIZE : 1) {
+                    if (batches) {
+                        List<TransferInstruction> batch = new ArrayList<>(BATCH_SIZE);
+                        for (int b = 0; b < BATCH_SIZE; b++) {
+                            batch.add(new TransferInstruction(pick(accounts, random), pick(accounts, random),
+                                    random.nextInt(1, 5_000), "Stress batch"));
+                        }
+                        for (TransferResult result : bank.transferBatch(batch)) {
+                            (result.isSuccess() ? succeeded : rejected).incrementAndGet();
+                        }
+                        continue;
+                    }
+                    try {
+                        bank.transfer(pick(accounts, random), pick(accounts, random), random.nextInt(1, 5_000),
+                                "Stress");
+                        succeeded.incrementAndGet();
+                    } catch (Exception e) {
+                        rejected.incrementAndGet(); // insufficient funds is expected
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(5, TimeUnit.MINUTES)) {
+            System.out.println("Test Failed: transfers did not finish (possible deadlock).");
+            return false;
+        }
+        return true;
+    }
+
+    private static String pick(List<Account> accounts, ThreadLocalRandom random) {
+        return accounts.get(random.nextInt(accounts.size())).getAccountNumber();
+    }
+
+    private static double totalBalance(List<Account> accounts) {
+        return accounts.stream().mapToDouble(Account::getBalance).sum();
+    }
+}
@@ -0,0 +1,23 @@
+package com.banking.main;
+
+import com.banking.repository.BinarySnapshot;
+import java.io.IOException;
+
+// Usage: java com.banking.main.SnapshotConverter accounts.ser accounts.bin
+public class SnapshotConverter {
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: SnapshotConverter <source.ser> <target.bin>");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            BinarySnapshot.convert(args[0], args[1]);
+            System.out.printf("✅ Converted %s -> %s in %d ms%n", args[0], args[1],
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            System.out.println("❌ Conversion failed: " + e.getMessage());
+        }
+    }
+}
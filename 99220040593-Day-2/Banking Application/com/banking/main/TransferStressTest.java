@@ -0,0 +1,82 @@
+package com.banking.main;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.repository.FileAccountRepository;
+import com.banking.service.BankService;
+import com.banking.service.BankServiceImpl;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hammers transfer() from many threads and checks that no money is created or lost
+public class TransferStressTest {
+    private static final int ACCOUNTS = 20;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        File data = File.createTempFile("stress", ".ser");
+        data.delete();
+        FileAccountRepository repository = new FileAccountRepository(data.getPath());
+        BankService bank = new BankServiceImpl(repository, "STRESS BANK", "STRS0000001", 8);
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bank.createAccount("Holder " + i, "AADHAAR" + i, AccountType.CURRENT, 100_000, 0.0);
+        }
+        List<Account> accounts = bank.getAllAccounts();
+        double expectedTotal = totalBalance(accounts);
+        System.out.println("Starting Stress Test...");
+
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    String from = accounts.get(random.nextInt(ACCOUNTS)).getAccountNumber();
+                    String to = accounts.get(random.nextInt(ACCOUNTS)).getAccountNumber();
+                    try {
+                        bank.transfer(from, to, random.nextInt(1, 5_000), "Stress");
+                        succeeded.incrementAndGet();
+                    } catch (Exception e) {
+                        rejected.incrementAndGet(); // insufficient funds is expected
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(5, TimeUnit.MINUTES)) {
+            System.out.println("Test Failed: transfers did not finish (possible deadlock).");
+            return;
+        }
+
+        double actualTotal = totalBalance(accounts);
+        if (Math.abs(actualTotal - expectedTotal) < 0.001) {
+            System.out.println("Test 1 Passed: total balance conserved at ₹" + actualTotal);
+        } else {
+            System.out.println("Test 1 Failed: expected ₹" + expectedTotal + " but found ₹" + actualTotal);
+        }
+
+        long minBalanceViolations = accounts.stream().filter(acc -> acc.getBalance() < 0).count();
+        if (minBalanceViolations == 0) {
+            System.out.println("Test 2 Passed: no account overdrawn past its limit.");
+        } else {
+            System.out.println("Test 2 Failed: " + minBalanceViolations + " accounts overdrawn.");
+        }
+
+        System.out.println("Transfers: " + succeeded.get() + " succeeded, " + rejected.get() + " rejected");
+        data.delete();
+        new File(data.getPath() + ".journal").delete();
+        new File(data.getPath() + ".seq").delete();
+    }
+
+    private static double totalBalance(List<Account> accounts) {
+        return accounts.stream().mapToDouble(Account::getBalance).sum();
+    }
+}
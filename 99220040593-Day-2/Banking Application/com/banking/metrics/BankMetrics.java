@@ -0,0 +1,177 @@
+package com.banking.metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of per-operation stats shared by the instrumented service and
+ * repository. Every operation is published as an MXBean named
+ * com.banking:type=<component>,name=<operation>, and can be printed as a
+ * text table, either on demand or every few seconds by a reporter thread
+ * that shows only what happened since its previous report.
+ */
+public class BankMetrics implements AutoCloseable {
+    private final Map<String, OperationStats> operations = new ConcurrentSkipListMap<>();
+    private final Map<String, ObjectName> registered = new ConcurrentSkipListMap<>();
+    private final boolean jmx;
+    private ScheduledExecutorService reporter;
+
+    public BankMetrics() {
+        this(true);
+    }
+
+    // jmx: whether operations are registered with the platform MBean server
+    public BankMetrics(boolean jmx) {
+        this.jmx = jmx;
+    }
+
+    public OperationStats operation(String component, String name) {
+        String key = component + "." + name;
+        OperationStats stats = operations.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        synchronized (this) {
+            stats = operations.get(key);
+            if (stats == null) {
+                stats = new OperationStats(key);
+                register(component, name, stats);
+                operations.put(key, stats);
+            }
+            return stats;
+        }
+    }
+
+    public Map<String, OperationStats> getOperations() {
+        return operations;
+    }
+
+    // Lifetime totals for every operation that has been called at least once
+    public void writeReport(Writer out) throws IOException {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new HashMap<>();
+        Map<String, Long> errors = new HashMap<>();
+        operations.forEach((key, stats) -> {
+            snapshots.put(key, stats.snapshot());
+            errors.put(key, stats.getErrorCount());
+        });
+        writeTable(out, "since startup", snapshots, errors, 0);
+    }
+
+    public String report() {
+        StringWriter out = new StringWriter();
+        try {
+            writeReport(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter does not throw
+        }
+        return out.toString();
+    }
+
+    // Prints the activity of each period to out until close()
+    public synchronized void startReporter(long periodSeconds, PrintStream out) {
+        if (reporter != null) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, LatencyHistogram.Snapshot> previous = new HashMap<>();
+        Map<String, Long> previousErrors = new HashMap<>();
+        reporter.scheduleAtFixedRate(() -> {
+            Map<String, LatencyHistogram.Snapshot> interval = new HashMap<>();
+            Map<String, Long> intervalErrors = new HashMap<>();
+            operations.forEach((key, stats) -> {
+                LatencyHistogram.Snapshot now = stats.snapshot();
+                long errorsNow = stats.getErrorCount();
+                LatencyHistogram.Snapshot before = previous.put(key, now);
+                interval.put(key, before == null ? now : now.minus(before));
+                intervalErrors.put(key, errorsNow - previousErrors.getOrDefault(key, 0L));
+                previousErrors.put(key, errorsNow);
+            });
+            try {
+                StringWriter text = new StringWriter();
+                writeTable(text, "last " + periodSeconds + "s", interval, intervalErrors, periodSeconds);
+                out.print(text);
+                out.flush();
+            } catch (IOException e) {
+                System.err.println("❌ Metrics report failed: " + e.getMessage());
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+        if (jmx) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : registered.values()) {
+                try {
+                    server.unregisterMBean(name);
+                } catch (JMException e) {
+                    // already gone, e.g. replaced by a newer registry
+                }
+            }
+            registered.clear();
+        }
+    }
+
+    private void register(String component, String name, OperationStats stats) {
+        if (!jmx) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("com.banking:type=" + component + ",name=" + name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName); // a newer registry takes over the name
+            }
+            server.registerMBean(stats, objectName);
+            registered.put(stats.getName(), objectName);
+        } catch (JMException e) {
+            System.err.println("❌ JMX registration failed for " + stats.getName() + ": " + e.getMessage());
+        }
+    }
+
+    // periodSeconds > 0 computes throughput over the period, otherwise since each operation was first seen
+    private void writeTable(Writer out, String title, Map<String, LatencyHistogram.Snapshot> snapshots,
+            Map<String, Long> errors, long periodSeconds) throws IOException {
+        out.write(String.format("📈 Operation metrics (%s)%n", title));
+        out.write(String.format("%-36s %10s %8s %10s %10s %10s %10s %10s%n",
+                "Operation", "Count", "Errors", "Ops/s", "p50 µs", "p99 µs", "p99.9 µs", "Max µs"));
+        for (Map.Entry<String, OperationStats> entry : operations.entrySet()) {
+            LatencyHistogram.Snapshot snapshot = snapshots.get(entry.getKey());
+            long errorCount = errors.getOrDefault(entry.getKey(), 0L);
+            if (snapshot == null || (snapshot.getCount() == 0 && errorCount == 0)) {
+                continue;
+            }
+            double rate = periodSeconds > 0 ? (double) snapshot.getCount() / periodSeconds
+                    : entry.getValue().getThroughputPerSecond();
+            out.write(String.format("%-36s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(),
+                    snapshot.getCount(), errorCount, rate,
+                    snapshot.getPercentileNanos(50) / 1000.0, snapshot.getPercentileNanos(99) / 1000.0,
+                    snapshot.getPercentileNanos(99.9) / 1000.0, snapshot.getMaxNanos() / 1000.0));
+            if (errorCount > 0) {
+                out.write(String.format("%-36s errors since startup: %s%n", "", entry.getValue().getErrorsByType()));
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,197 @@
+package com.banking.metrics;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Transaction;
+import com.banking.repository.AccountNumberAllocator;
+import com.banking.repository.AccountRepository;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AccountRepository decorator that times snapshots, journal appends and
+ * durability waits, so the cost of persistence can be told apart from
+ * the service's own work. Wrap the repository before handing it to
+ * BankServiceImpl.
+ */
+public class InstrumentedAccountRepository implements AccountRepository {
+    private static final String COMPONENT = "AccountRepository";
+
+    private final AccountRepository delegate;
+    private final OperationStats saveAll;
+    private final OperationStats compactPartition;
+    private final OperationStats loadAll;
+    private final OperationStats addAccount;
+    private final OperationStats recordTransaction;
+    private final OperationStats recordTransactions;
+    private final OperationStats awaitDurable;
+    private final OperationStats findAccount;
+    private final OperationStats findByHolderName;
+
+    public InstrumentedAccountRepository(AccountRepository delegate, BankMetrics metrics) {
+        this.delegate = delegate;
+        this.saveAll = metrics.operation(COMPONENT, "saveAll");
+        this.compactPartition = metrics.operation(COMPONENT, "compactPartition");
+        this.loadAll = metrics.operation(COMPONENT, "loadAll");
+        this.addAccount = metrics.operation(COMPONENT, "addAccount");
+        this.recordTransaction = metrics.operation(COMPONENT, "recordTransaction");
+        this.recordTransactions = metrics.operation(COMPONENT, "recordTransactions");
+        this.awaitDurable = metrics.operation(COMPONENT, "awaitDurable");
+        this.findAccount = metrics.operation(COMPONENT, "findAccount");
+        this.findByHolderName = metrics.operation(COMPONENT, "findByHolderName");
+    }
+
+    @Override
+    public void saveAll(List<Account> accounts) {
+        long start = System.nanoTime();
+        try {
+            delegate.saveAll(accounts);
+        } catch (RuntimeException e) {
+            saveAll.failed(e);
+            throw e;
+        } finally {
+            saveAll.record(start);
+        }
+    }
+
+    @Override
+    public List<Account> loadAll() {
+        long start = System.nanoTime();
+        try {
+            return delegate.loadAll();
+        } finally {
+            loadAll.record(start);
+        }
+    }
+
+    @Override
+    public long addAccount(Account account) {
+        long start = System.nanoTime();
+        try {
+            return delegate.addAccount(account);
+        } finally {
+            addAccount.record(start);
+        }
+    }
+
+    @Override
+    public long recordTransaction(Account account, Transaction transaction) {
+        long start = System.nanoTime();
+        try {
+            return delegate.recordTransaction(account, transaction);
+        } finally {
+            recordTransaction.record(start);
+        }
+    }
+
+    @Override
+    public long recordTransactions(List<Map.Entry<Account, Transaction>> entries) {
+        long start = System.nanoTime();
+        try {
+            return delegate.recordTransactions(entries);
+        } finally {
+            recordTransactions.record(start);
+        }
+    }
+
+    // Time spent blocked on a group-commit fsync; near zero unless durability is SYNC
+    @Override
+    public void awaitDurable(long ticket) {
+        long start = System.nanoTime();
+        try {
+            delegate.awaitDurable(ticket);
+        } catch (RuntimeException e) {
+            awaitDurable.failed(e);
+            throw e;
+        } finally {
+            awaitDurable.record(start);
+        }
+    }
+
+    @Override
+    public boolean isCompactionDue() {
+        return delegate.isCompactionDue();
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return delegate.getPartitionCount();
+    }
+
+    @Override
+    public boolean isCompactionDue(int partition) {
+        return delegate.isCompactionDue(partition);
+    }
+
+    @Override
+    public List<Account> getPartitionAccounts(int partition) {
+        return delegate.getPartitionAccounts(partition);
+    }
+
+    @Override
+    public boolean compactPartition(int partition, int lockedAccounts) {
+        long start = System.nanoTime();
+        try {
+            return delegate.compactPartition(partition, lockedAccounts);
+        } catch (RuntimeException e) {
+            compactPartition.failed(e);
+            throw e;
+        } finally {
+            compactPartition.record(start);
+        }
+    }
+
+    @Override
+    public Account findAccount(String accountNumber) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAccount(accountNumber);
+        } catch (Exception e) {
+            findAccount.failed(e);
+            throw e;
+        } finally {
+            findAccount.record(start);
+        }
+    }
+
+    @Override
+    public List<Account> getAllAccounts() {
+        return delegate.getAllAccounts();
+    }
+
+    @Override
+    public List<Account> findByAadhaar(String aadhaar) {
+        return delegate.findByAadhaar(aadhaar);
+    }
+
+    @Override
+    public List<Account> findByType(AccountType type) {
+        return delegate.findByType(type);
+    }
+
+    @Override
+    public List<Account> findByHolderPrefix(String prefix, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByHolderPrefix(prefix, limit);
+        } finally {
+            findByHolderName.record(start);
+        }
+    }
+
+    @Override
+    public List<Account> findByHolderSubstring(String text, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByHolderSubstring(text, limit);
+        } finally {
+            findByHolderName.record(start);
+        }
+    }
+
+    @Override
+    public AccountNumberAllocator getAccountNumberAllocator() {
+        return delegate.getAccountNumberAllocator();
+    }
+}
@@ -0,0 +1,291 @@
+package com.banking.metrics;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Transaction;
+import com.banking.service.BankService;
+import com.banking.service.BookView;
+import com.banking.service.StatementRunReport;
+import com.banking.service.TransferInstruction;
+import com.banking.service.TransferResult;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * BankService decorator that times every call and counts failures by
+ * exception type. Operations are looked up once here, so a call costs two
+ * System.nanoTime() reads and one histogram update on top of the delegate.
+ */
+public class InstrumentedBankService implements BankService {
+    private static final String COMPONENT = "BankService";
+
+    private final BankService delegate;
+    private final OperationStats createAccount;
+    private final OperationStats deposit;
+    private final OperationStats withdraw;
+    private final OperationStats transfer;
+    private final OperationStats transferBatch;
+    private final OperationStats calculateInterest;
+    private final OperationStats processMaturities;
+    private final OperationStats summaryReport;
+    private final OperationStats generateStatements;
+    private final OperationStats openView;
+    private final OperationStats lastTransactions;
+    private final OperationStats statement;
+    private final OperationStats findAccount;
+    private final OperationStats saveData;
+    private final OperationStats searchByHolderName;
+
+    public InstrumentedBankService(BankService delegate, BankMetrics metrics) {
+        this.delegate = delegate;
+        this.createAccount = metrics.operation(COMPONENT, "createAccount");
+        this.deposit = metrics.operation(COMPONENT, "deposit");
+        this.withdraw = metrics.operation(COMPONENT, "withdraw");
+        this.transfer = metrics.operation(COMPONENT, "transfer");
+        this.transferBatch = metrics.operation(COMPONENT, "transferBatch");
+        this.calculateInterest = metrics.operation(COMPONENT, "calculateInterest");
+        this.processMaturities = metrics.operation(COMPONENT, "processMaturities");
+        this.summaryReport = metrics.operation(COMPONENT, "summaryReport");
+        this.generateStatements = metrics.operation(COMPONENT, "generateStatements");
+        this.openView = metrics.operation(COMPONENT, "openView");
+        this.lastTransactions = metrics.operation(COMPONENT, "getLastTransactions");
+        this.statement = metrics.operation(COMPONENT, "getStatement");
+        this.findAccount = metrics.operation(COMPONENT, "findAccount");
+        this.saveData = metrics.operation(COMPONENT, "saveData");
+        this.searchByHolderName = metrics.operation(COMPONENT, "searchByHolderName");
+    }
+
+    @Override
+    public Account createAccount(String holderName, String aadhaar, AccountType type, double initialDeposit,
+            Double... extraParams) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createAccount(holderName, aadhaar, type, initialDeposit, extraParams);
+        } catch (RuntimeException e) {
+            createAccount.failed(e);
+            throw e;
+        } finally {
+            createAccount.record(start);
+        }
+    }
+
+    @Override
+    public void deposit(String accountNumber, double amount, String description) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            delegate.deposit(accountNumber, amount, description);
+        } catch (Exception e) {
+            deposit.failed(e);
+            throw e;
+        } finally {
+            deposit.record(start);
+        }
+    }
+
+    @Override
+    public void withdraw(String accountNumber, double amount, String description) throws Exception {
+        long start = System.nanoTime();
+        try {
+            delegate.withdraw(accountNumber, amount, description);
+        } catch (Exception e) {
+            withdraw.failed(e);
+            throw e;
+        } finally {
+            withdraw.record(start);
+        }
+    }
+
+    @Override
+    public void transfer(String fromAccount, String toAccount, double amount, String description) throws Exception {
+        long start = System.nanoTime();
+        try {
+            delegate.transfer(fromAccount, toAccount, amount, description);
+        } catch (Exception e) {
+            transfer.failed(e);
+            throw e;
+        } finally {
+            transfer.record(start);
+        }
+    }
+
+    // Rejected instructions come back as results, so they are counted from those
+    @Override
+    public List<TransferResult> transferBatch(List<TransferInstruction> instructions) {
+        long start = System.nanoTime();
+        try {
+            List<TransferResult> results = delegate.transferBatch(instructions);
+            for (TransferResult result : results) {
+                if (!result.isSuccess()) {
+                    transferBatch.failed("RejectedTransfer");
+                }
+            }
+            return results;
+        } catch (RuntimeException e) {
+            transferBatch.failed(e);
+            throw e;
+        } finally {
+            transferBatch.record(start);
+        }
+    }
+
+    @Override
+    public void calculateInterest() {
+        long start = System.nanoTime();
+        try {
+            delegate.calculateInterest();
+        } catch (RuntimeException e) {
+            calculateInterest.failed(e);
+            throw e;
+        } finally {
+            calculateInterest.record(start);
+        }
+    }
+
+    @Override
+    public int processMaturities() {
+        long start = System.nanoTime();
+        try {
+            return delegate.processMaturities();
+        } catch (RuntimeException e) {
+            processMaturities.failed(e);
+            throw e;
+        } finally {
+            processMaturities.record(start);
+        }
+    }
+
+    @Override
+    public Optional<LocalDateTime> getNextMaturityDate() {
+        return delegate.getNextMaturityDate();
+    }
+
+    @Override
+    public String generateSummaryReport() {
+        long start = System.nanoTime();
+        try {
+            return delegate.generateSummaryReport();
+        } catch (RuntimeException e) {
+            summaryReport.failed(e);
+            throw e;
+        } finally {
+            summaryReport.record(start);
+        }
+    }
+
+    @Override
+    public void writeSummaryReport(Writer out) throws IOException {
+        long start = System.nanoTime();
+        try {
+            delegate.writeSummaryReport(out);
+        } catch (IOException | RuntimeException e) {
+            summaryReport.failed(e);
+            throw e;
+        } finally {
+            summaryReport.record(start);
+        }
+    }
+
+    // Statements that fail individually are in the report, not counted as errors here
+    @Override
+    public StatementRunReport generateStatements(LocalDate date, Path outputDir) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.generateStatements(date, outputDir);
+        } catch (IOException | RuntimeException e) {
+            generateStatements.failed(e);
+            throw e;
+        } finally {
+            generateStatements.record(start);
+        }
+    }
+
+    // Times acquiring the view, not how long the caller keeps it open
+    @Override
+    public BookView openView() {
+        long start = System.nanoTime();
+        try {
+            return delegate.openView();
+        } finally {
+            openView.record(start);
+        }
+    }
+
+    @Override
+    public List<Transaction> getLastTransactions(String accountNumber, int n) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getLastTransactions(accountNumber, n);
+        } catch (Exception e) {
+            lastTransactions.failed(e);
+            throw e;
+        } finally {
+            lastTransactions.record(start);
+        }
+    }
+
+    @Override
+    public List<Transaction> getStatement(String accountNumber, LocalDateTime from, LocalDateTime to)
+            throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getStatement(accountNumber, from, to);
+        } catch (Exception e) {
+            statement.failed(e);
+            throw e;
+        } finally {
+            statement.record(start);
+        }
+    }
+
+    @Override
+    public Account findAccount(String accountNumber) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAccount(accountNumber);
+        } catch (Exception e) {
+            findAccount.failed(e);
+            throw e;
+        } finally {
+            findAccount.record(start);
+        }
+    }
+
+    @Override
+    public void saveData() {
+        long start = System.nanoTime();
+        try {
+            delegate.saveData();
+        } catch (RuntimeException e) {
+            saveData.failed(e);
+            throw e;
+        } finally {
+            saveData.record(start);
+        }
+    }
+
+    @Override
+    public List<Account> getAllAccounts() {
+        return delegate.getAllAccounts();
+    }
+
+    @Override
+    public List<Account> getAccountsByAadhaar(String aadhaar) {
+        return delegate.getAccountsByAadhaar(aadhaar);
+    }
+
+    @Override
+    public List<Account> searchByHolderName(String query, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchByHolderName(query, limit);
+        } finally {
+            searchByHolderName.record(start);
+        }
+    }
+}
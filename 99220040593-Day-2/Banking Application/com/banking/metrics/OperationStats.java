@@ -0,0 +1,106 @@
+package com.banking.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error counts for one operation, e.g.
+ * BankService.transfer. Callers take System.nanoTime() before the call and
+ * hand it to record() afterwards; failures are also passed to failed(),
+ * which counts them by exception type.
+ */
+public class OperationStats implements OperationStatsMXBean {
+    private final String name;
+    private final long createdNanos = System.nanoTime();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public OperationStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long startNanos) {
+        latencies.record(System.nanoTime() - startNanos);
+    }
+
+    public void failed(Throwable error) {
+        failed(error.getClass().getSimpleName());
+    }
+
+    // For failures reported as results rather than thrown, e.g. a rejected transfer in a batch
+    public void failed(String kind) {
+        LongAdder counter = errors.get(kind);
+        if (counter == null) {
+            counter = errors.computeIfAbsent(kind, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public LatencyHistogram.Snapshot snapshot() {
+        return latencies.snapshot();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return snapshot().getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        long total = 0;
+        for (LongAdder counter : errors.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByType() {
+        Map<String, Long> byType = new TreeMap<>();
+        errors.forEach((type, counter) -> byType.put(type, counter.sum()));
+        return byType;
+    }
+
+    @Override
+    public double getThroughputPerSecond() {
+        double seconds = (System.nanoTime() - createdNanos) / 1e9;
+        return seconds <= 0 ? 0 : getCount() / seconds;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return snapshot().getMeanNanos() / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return snapshot().getPercentileNanos(50) / 1000.0;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return snapshot().getPercentileNanos(90) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return snapshot().getPercentileNanos(99) / 1000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return snapshot().getPercentileNanos(99.9) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return snapshot().getMaxNanos() / 1000.0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.banking.metrics;
+
+import java.util.Map;
+
+// JMX view of one operation; latencies are in microseconds since startup
+public interface OperationStatsMXBean {
+    String getName();
+
+    long getCount();
+
+    long getErrorCount();
+
+    Map<String, Long> getErrorsByType();
+
+    double getThroughputPerSecond();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
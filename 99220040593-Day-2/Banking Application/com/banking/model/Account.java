@@ -1,8 +1,9 @@
 package com.banking.model;
 
 import com.banking.exception.InsufficientFundsException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 
 public abstract class Account implements Serializable {
@@ -23,25 +24,82 @@ public abstract class Account implements Serializable {
         this.holderAadhaar = holderAadhaar;
         this.balance = initialBalance;
         this.type = type;
-        this.transactions = new ArrayList<>();
+        this.transactions = new TransactionLog();
         this.isActive = true;
         // Log initial deposit
-        transactions.add(new Transaction(TransactionType.DEPOSIT, initialBalance, balance, "Account Opening"));
+        logTransaction(TransactionType.DEPOSIT, initialBalance, "Account Opening");
+    }
+
+    // Restores a persisted account without logging a fresh opening deposit
+    protected Account(String accountNumber, String holderName, String holderAadhaar, double balance,
+            AccountType type, boolean isActive, List<Transaction> transactions) {
+        this.accountNumber = accountNumber;
+        this.holderName = holderName;
+        this.holderAadhaar = holderAadhaar;
+        this.balance = balance;
+        this.type = type;
+        this.transactions = TransactionLog.of(transactions);
+        this.isActive = isActive;
     }
 
     // Abstract Methods
-    public abstract boolean withdraw(double amount, String description) throws InsufficientFundsException;
+    // counterparty: the other account when this is a transfer leg, otherwise null
+    public abstract boolean withdraw(double amount, String description, String counterparty)
+            throws InsufficientFundsException;
 
     public abstract void calculateInterest();
 
+    // Whether a withdrawal leaving this balance would pass the account's rules
+    public abstract boolean isWithdrawalAllowed(double balanceAfter);
+
     // Common Methods
+    public boolean withdraw(double amount, String description) throws InsufficientFundsException {
+        return withdraw(amount, description, null);
+    }
+
     public void deposit(double amount, String description) {
+        deposit(amount, description, null);
+    }
+
+    public void deposit(double amount, String description, String counterparty) {
         if (amount > 0 && isActive) {
             balance += amount;
-            transactions.add(new Transaction(TransactionType.DEPOSIT, amount, balance, description));
+            logTransaction(TransactionType.DEPOSIT, amount, description, counterparty);
         }
     }
 
+    // Records an entry against the current balance straight into the columnar log
+    protected void logTransaction(TransactionType type, double amount, String description) {
+        logTransaction(type, amount, description, null);
+    }
+
+    protected void logTransaction(TransactionType type, double amount, String description, String counterparty) {
+        log().append(Transaction.nextId(), type, amount, balance, TransactionLog.nowMillis(), description,
+                counterparty);
+    }
+
+    private TransactionLog log() {
+        return (TransactionLog) transactions;
+    }
+
+    // Books written before the columnar log hold an ArrayList here
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        transactions = TransactionLog.of(transactions);
+    }
+
+    // Applies a pre-validated net balance change and its ledger entries in one step
+    public void postBatch(double netChange, List<Transaction> entries) {
+        balance += netChange;
+        transactions.addAll(entries);
+    }
+
+    // Re-applies a persisted transaction during recovery
+    public void restoreTransaction(Transaction transaction) {
+        transactions.add(transaction);
+        balance = transaction.getBalanceAfter();
+    }
+
     // Getters/Setters
     public String getAccountNumber() {
         return accountNumber;
@@ -51,6 +109,10 @@ public abstract class Account implements Serializable {
         return holderName;
     }
 
+    public String getHolderAadhaar() {
+        return holderAadhaar;
+    }
+
     public double getBalance() {
         return balance;
     }
@@ -63,6 +125,10 @@ public abstract class Account implements Serializable {
         return transactions;
     }
 
+    public TransactionLog getTransactionLog() {
+        return log();
+    }
+
     public boolean isActive() {
         return isActive;
     }
@@ -1,8 +1,12 @@
 package com.banking.model;
 
 import com.banking.exception.InsufficientFundsException;
+import java.util.List;
 
 public class CurrentAccount extends Account {
+    // Matches the UID computed for the original class, keeping old .ser books loadable
+    private static final long serialVersionUID = 3257501292815252218L;
+
     private double overdraftLimit;
 
     public CurrentAccount(String accountNumber, String holderName, String holderAadhaar,
@@ -11,8 +15,15 @@ public class CurrentAccount extends Account {
         this.overdraftLimit = overdraftLimit;
     }
 
+    public CurrentAccount(String accountNumber, String holderName, String holderAadhaar, double balance,
+            double overdraftLimit, boolean isActive, List<Transaction> transactions) {
+        super(accountNumber, holderName, holderAadhaar, balance, AccountType.CURRENT, isActive, transactions);
+        this.overdraftLimit = overdraftLimit;
+    }
+
     @Override
-    public boolean withdraw(double amount, String description) throws InsufficientFundsException {
+    public boolean withdraw(double amount, String description, String counterparty)
+            throws InsufficientFundsException {
         if (!isActive || amount <= 0)
             return false;
         double availableBalance = balance + overdraftLimit;
@@ -20,10 +31,15 @@ public class CurrentAccount extends Account {
             throw new InsufficientFundsException("Insufficient funds. Available: ₹" + availableBalance);
         }
         balance -= amount;
-        transactions.add(new Transaction(TransactionType.WITHDRAWAL, amount, balance, description));
+        logTransaction(TransactionType.WITHDRAWAL, amount, description, counterparty);
         return true;
     }
 
+    @Override
+    public boolean isWithdrawalAllowed(double balanceAfter) {
+        return isActive && balanceAfter >= -overdraftLimit;
+    }
+
     @Override
     public void calculateInterest() {
         // No interest for current accounts
@@ -0,0 +1,60 @@
+package com.banking.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns transaction descriptions so each distinct text is stored once and
+ * transaction logs keep only an int id per entry. Lookups by id are
+ * lock-free; only the first sighting of a new description takes the lock.
+ *
+ * Pooled texts are never released, so the pool is capped. The fixed texts
+ * the code posts take a handful of slots; client-supplied free text fills
+ * the rest, and once MAX_SIZE texts are held intern() answers NOT_POOLED
+ * and the log keeps that String on the entry instead. Transfer
+ * counterparties have their own column and never reach the pool.
+ */
+public final class DescriptionPool {
+    public static final int NOT_POOLED = -1;
+    static final int MAX_SIZE = 4096;
+
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] table = new String[256];
+    private static volatile boolean full;
+    private static int size;
+
+    private DescriptionPool() {
+    }
+
+    public static int intern(String description) {
+        String key = description == null ? "" : description;
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        return full ? NOT_POOLED : register(key);
+    }
+
+    public static String lookup(int id) {
+        return table[id];
+    }
+
+    private static synchronized int register(String description) {
+        Integer id = ids.get(description);
+        if (id != null) {
+            return id;
+        }
+        if (size == MAX_SIZE) {
+            full = true;
+            return NOT_POOLED;
+        }
+        String[] current = table;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, Math.min(current.length * 2, MAX_SIZE));
+        }
+        current[size] = description;
+        table = current; // publish before the id becomes visible
+        ids.put(description, size);
+        return size++;
+    }
+}
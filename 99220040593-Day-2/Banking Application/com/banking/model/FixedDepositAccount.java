@@ -2,10 +2,16 @@ package com.banking.model;
 
 import com.banking.exception.InsufficientFundsException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class FixedDepositAccount extends Account {
+    // Matches the UID computed for the original class, keeping old .ser books loadable
+    private static final long serialVersionUID = 4061164134220435634L;
+    private static final String MATURITY_INTEREST = "FD Maturity Interest";
+
     private LocalDateTime maturityDate;
     private double interestRate;
+    private boolean maturityProcessed;
 
     public FixedDepositAccount(String accountNumber, String holderName, String holderAadhaar,
             double principal, int tenureMonths, double rate) {
@@ -14,8 +20,18 @@ public class FixedDepositAccount extends Account {
         this.maturityDate = LocalDateTime.now().plusMonths(tenureMonths);
     }
 
+    public FixedDepositAccount(String accountNumber, String holderName, String holderAadhaar, double balance,
+            LocalDateTime maturityDate, double rate, boolean maturityProcessed, boolean isActive,
+            List<Transaction> transactions) {
+        super(accountNumber, holderName, holderAadhaar, balance, AccountType.FIXED_DEPOSIT, isActive, transactions);
+        this.interestRate = rate;
+        this.maturityDate = maturityDate;
+        this.maturityProcessed = maturityProcessed;
+    }
+
     @Override
-    public boolean withdraw(double amount, String description) throws InsufficientFundsException {
+    public boolean withdraw(double amount, String description, String counterparty)
+            throws InsufficientFundsException {
         if (LocalDateTime.now().isBefore(maturityDate)) {
             throw new InsufficientFundsException("FD not matured yet. Maturity: " + maturityDate);
         }
@@ -23,19 +39,62 @@ public class FixedDepositAccount extends Account {
             throw new InsufficientFundsException("Insufficient funds in FD. Balance: " + balance);
         }
         balance -= amount;
-        transactions.add(new Transaction(TransactionType.WITHDRAWAL, amount, balance, description));
+        logTransaction(TransactionType.WITHDRAWAL, amount, description, counterparty);
         return true;
     }
 
+    @Override
+    public boolean isWithdrawalAllowed(double balanceAfter) {
+        return !LocalDateTime.now().isBefore(maturityDate) && balanceAfter >= 0;
+    }
+
+    // Maturity interest is paid once; MaturityScheduler calls this when the FD is due
     @Override
     public void calculateInterest() {
-        if (LocalDateTime.now().isAfter(maturityDate)) {
+        if (isMaturityDue(LocalDateTime.now())) {
             double interest = balance * interestRate * 1; // Simple interest
-            deposit(interest, "FD Maturity Interest");
+            balance += interest;
+            logTransaction(TransactionType.INTEREST, interest, MATURITY_INTEREST);
+            maturityProcessed = true;
+        }
+    }
+
+    public boolean isMaturityDue(LocalDateTime now) {
+        return isActive && !maturityProcessed && now.isAfter(maturityDate);
+    }
+
+    @Override
+    public void restoreTransaction(Transaction transaction) {
+        super.restoreTransaction(transaction);
+        if (transaction.getType() == TransactionType.INTEREST || MATURITY_INTEREST.equals(transaction.getNarration())) {
+            maturityProcessed = true;
+        }
+    }
+
+    // Books saved before maturityProcessed existed lack the flag; the history shows whether
+    // the maturity interest (logged as a deposit in those versions) was already paid
+    public void markMaturityFromHistory() {
+        if (maturityProcessed || LocalDateTime.now().isBefore(maturityDate)) {
+            return;
+        }
+        TransactionLog log = getTransactionLog();
+        for (int i = log.size() - 1; i >= 0; i--) {
+            if (MATURITY_INTEREST.equals(log.getNarrationAt(i))) {
+                maturityProcessed = true;
+                return;
+            }
         }
     }
 
     public LocalDateTime getMaturityDate() {
         return maturityDate;
     }
+
+    public double getInterestRate() {
+        return interestRate;
+    }
+
+    public boolean isMaturityProcessed() {
+        return maturityProcessed;
+    }
 }
@@ -0,0 +1,25 @@
+package com.banking.model;
+
+/**
+ * Read-only store holding the oldest entries of a TransactionLog, such as a
+ * region of an on-disk snapshot. Index 0 is the account's first transaction.
+ */
+public interface HistoryArchive {
+    int size();
+
+    long getIdAt(int index);
+
+    TransactionType getTypeAt(int index);
+
+    double getAmountAt(int index);
+
+    double getBalanceAfterAt(int index);
+
+    long getTimestampMillisAt(int index);
+
+    // The description as posted, without the counterparty of a transfer leg
+    String getNarrationAt(int index);
+
+    // The other account of a transfer leg, or null
+    String getCounterpartyAt(int index);
+}
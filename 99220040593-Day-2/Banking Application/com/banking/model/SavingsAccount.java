@@ -1,8 +1,12 @@
 package com.banking.model;
 
 import com.banking.exception.InsufficientFundsException;
+import java.util.List;
 
 public class SavingsAccount extends Account {
+    // Matches the UID computed for the original class, keeping old .ser books loadable
+    private static final long serialVersionUID = -6174560297912362275L;
+
     private static final double INTEREST_RATE = 0.04; // 4% annual
     private int minBalance = 1000;
 
@@ -10,21 +14,37 @@ public class SavingsAccount extends Account {
         super(accountNumber, holderName, holderAadhaar, initialBalance, AccountType.SAVINGS);
     }
 
+    public SavingsAccount(String accountNumber, String holderName, String holderAadhaar, double balance,
+            int minBalance, boolean isActive, List<Transaction> transactions) {
+        super(accountNumber, holderName, holderAadhaar, balance, AccountType.SAVINGS, isActive, transactions);
+        this.minBalance = minBalance;
+    }
+
     @Override
-    public boolean withdraw(double amount, String description) throws InsufficientFundsException {
+    public boolean withdraw(double amount, String description, String counterparty)
+            throws InsufficientFundsException {
         if (!isActive || amount <= 0)
             return false;
         if (balance - amount < minBalance) {
             throw new InsufficientFundsException("Minimum balance ₹" + minBalance + " required");
         }
         balance -= amount;
-        transactions.add(new Transaction(TransactionType.WITHDRAWAL, amount, balance, description));
+        logTransaction(TransactionType.WITHDRAWAL, amount, description, counterparty);
         return true;
     }
 
+    @Override
+    public boolean isWithdrawalAllowed(double balanceAfter) {
+        return isActive && balanceAfter >= minBalance;
+    }
+
     @Override
     public void calculateInterest() {
         double interest = balance * INTEREST_RATE / 12; // Monthly
         deposit(interest, "Monthly Interest");
     }
+
+    public int getMinBalance() {
+        return minBalance;
+    }
 }
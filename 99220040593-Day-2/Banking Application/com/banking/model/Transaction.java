@@ -3,10 +3,10 @@ package com.banking.model;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
 
 public class Transaction implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("dd/MM HH:mm");
 
     private String id;
     private TransactionType type;
@@ -14,14 +14,47 @@ public class Transaction implements Serializable {
     private double balanceAfter;
     private LocalDateTime timestamp;
     private String description;
+    private String counterparty; // other account of a transfer leg; absent in older books
 
     public Transaction(TransactionType type, double amount, double balanceAfter, String description) {
-        this.id = UUID.randomUUID().toString().substring(0, 8);
+        this(type, amount, balanceAfter, description, null);
+    }
+
+    // A transfer leg; the counterparty is kept apart from the description text
+    public Transaction(TransactionType type, double amount, double balanceAfter, String description,
+            String counterparty) {
+        this(formatId(nextId()), type, amount, balanceAfter, LocalDateTime.now(), description, counterparty);
+    }
+
+    // Used when rebuilding history from persisted records
+    public Transaction(String id, TransactionType type, double amount, double balanceAfter,
+            LocalDateTime timestamp, String description) {
+        this(id, type, amount, balanceAfter, timestamp, description, null);
+    }
+
+    public Transaction(String id, TransactionType type, double amount, double balanceAfter,
+            LocalDateTime timestamp, String description, String counterparty) {
+        this.id = id;
         this.type = type;
         this.amount = amount;
         this.balanceAfter = balanceAfter;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
         this.description = description;
+        this.counterparty = counterparty;
+    }
+
+    public static long nextId() {
+        return TransactionIdGenerator.nextId();
+    }
+
+    // Ids travel as hex strings but are stored as longs
+    public static String formatId(long id) {
+        String hex = Long.toHexString(id);
+        return hex.length() >= 8 ? hex : "00000000".substring(hex.length()) + hex;
+    }
+
+    public static long parseId(String id) {
+        return Long.parseUnsignedLong(id, 16);
     }
 
     // Getters
@@ -45,14 +78,62 @@ public class Transaction implements Serializable {
         return timestamp;
     }
 
+    // The full text shown to users, e.g. "Fund Transfer to SB1001"
     public String getDescription() {
+        return describe(description, type, counterparty);
+    }
+
+    // The description as posted, without the counterparty
+    public String getNarration() {
         return description;
     }
 
+    public String getCounterparty() {
+        return counterparty;
+    }
+
+    // Money leaves "to" the counterparty and arrives "from" it
+    public static String describe(String narration, TransactionType type, String counterparty) {
+        if (counterparty == null) {
+            return narration;
+        }
+        return narration + (type == TransactionType.DEPOSIT ? " from " : " to ") + counterparty;
+    }
+
     @Override
     public String toString() {
-        return String.format("%s [%s] $%.2f | Bal: $%.2f | %s",
-                timestamp.format(DateTimeFormatter.ofPattern("dd/MM HH:mm")),
-                type, amount, balanceAfter, description);
+        return appendLine(new StringBuilder(64), timestamp, type, amount, balanceAfter, getDescription()).toString();
+    }
+
+    // The toString() line, appended to a caller's buffer so bulk renderers can reuse one
+    public static StringBuilder appendLine(StringBuilder out, LocalDateTime timestamp, TransactionType type,
+            double amount, double balanceAfter, String description) {
+        return appendLine(out, timestamp, type, amount, balanceAfter, description, "$");
+    }
+
+    // Same line with the caller's currency symbol in front of both amounts
+    public static StringBuilder appendLine(StringBuilder out, LocalDateTime timestamp, TransactionType type,
+            double amount, double balanceAfter, String description, String currency) {
+        TIMESTAMP_FORMAT.formatTo(timestamp, out);
+        out.append(" [").append(type).append("] ").append(currency);
+        appendAmount(out, amount);
+        out.append(" | Bal: ").append(currency);
+        appendAmount(out, balanceAfter);
+        return out.append(" | ").append(description);
+    }
+
+    // Two decimal places, rounded to the paisa like the log stores them
+    public static StringBuilder appendAmount(StringBuilder out, double amount) {
+        long paise = Math.round(amount * 100);
+        if (paise < 0) {
+            out.append('-');
+            paise = -paise;
+        }
+        out.append(paise / 100).append('.');
+        long fraction = paise % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
     }
 }
@@ -0,0 +1,66 @@
+package com.banking.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 63-bit transaction ids, laid out as
+ * [41 bits ms since 2024-01-01][6 bits node][4 bits stripe][12 bits sequence].
+ * Threads are spread over 16 stripes, each with its own (time, sequence)
+ * counter advanced by CAS, so concurrent callers rarely touch the same
+ * counter and nothing is allocated per id. When a stripe uses up its 4096
+ * ids within one millisecond it borrows from the next millisecond rather
+ * than waiting. The node id comes from the "banking.nodeId" system property
+ * (0-63) and keeps ids unique across processes sharing a book.
+ */
+public final class TransactionIdGenerator {
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L; // 2024-01-01T00:00Z
+    private static final int SEQUENCE_BITS = 12;
+    private static final int STRIPE_BITS = 4;
+    private static final int NODE_BITS = 6;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+
+    private static final long NODE = parseNode(System.getProperty("banking.nodeId", "0"));
+    private static final AtomicLong[] stripes = new AtomicLong[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLong();
+        }
+    }
+
+    private TransactionIdGenerator() {
+    }
+
+    public static long nextId() {
+        int stripe = (int) (Thread.currentThread().threadId() & (STRIPES - 1));
+        AtomicLong state = stripes[stripe];
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long current;
+        long next;
+        do {
+            // state holds (millis << SEQUENCE_BITS | sequence) of the last id issued
+            current = state.get();
+            next = Math.max(now << SEQUENCE_BITS, current + 1);
+        } while (!state.compareAndSet(current, next));
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return millis << (NODE_BITS + STRIPE_BITS + SEQUENCE_BITS)
+                | NODE << (STRIPE_BITS + SEQUENCE_BITS)
+                | (long) stripe << SEQUENCE_BITS
+                | sequence;
+    }
+
+    // Milliseconds since the Unix epoch encoded in an id
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + STRIPE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    private static long parseNode(String value) {
+        long node = Long.parseLong(value.trim());
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("banking.nodeId must be between 0 and " + MAX_NODE);
+        }
+        return node;
+    }
+}
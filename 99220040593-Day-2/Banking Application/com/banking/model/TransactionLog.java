@@ -0,0 +1,350 @@
+package com.banking.model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-account transaction history stored column-wise in primitive arrays:
+ * id, epoch-millis timestamp, amount and balance in paise, type ordinal and
+ * an interned description id. That is 37 bytes per entry instead of a full
+ * Transaction object graph. Reading an element materializes a Transaction
+ * view on demand.
+ *
+ * Two reference columns are allocated only once a log needs them: the
+ * counterparty account of transfer legs, and the text of descriptions the
+ * bounded DescriptionPool had no room for.
+ *
+ * Timestamps are local wall-clock times encoded as if they were UTC, which
+ * keeps the conversion free of time-zone lookups. They never go backwards
+ * within a log, so time ranges can be found by binary search.
+ *
+ * The oldest entries may live in a HistoryArchive instead of the arrays:
+ * indexes below getArchivedCount() are read from the archive on demand, so
+ * only a recent window stays on the heap. Appends always go to the arrays.
+ */
+public class TransactionLog extends AbstractList<Transaction> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private transient int size; // resident entries
+    private transient HistoryArchive archive;
+    private transient int archived;
+    private transient long[] ids;
+    private transient long[] timestamps;
+    private transient long[] amounts;
+    private transient long[] balances;
+    private transient byte[] types;
+    private transient int[] descriptions;
+    private transient String[] texts; // descriptions[i] == NOT_POOLED: the text itself
+    private transient String[] counterparties;
+
+    public TransactionLog() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public TransactionLog(int capacity) {
+        allocate(Math.max(capacity, 1));
+    }
+
+    // A log whose oldest entries live in the archive; newer ones are appended as usual
+    public TransactionLog(HistoryArchive archive, int capacity) {
+        this(capacity);
+        this.archive = archive.size() > 0 ? archive : null;
+        this.archived = archive.size();
+    }
+
+    public TransactionLog(Collection<Transaction> history) {
+        this(history.size());
+        addAll(history);
+    }
+
+    // Appends a new entry without allocating a Transaction
+    public void append(long id, TransactionType type, double amount, double balanceAfter,
+            long timestampMillis, String description) {
+        append(id, type, amount, balanceAfter, timestampMillis, description, null);
+    }
+
+    // counterparty: the other account of a transfer leg, or null
+    public void append(long id, TransactionType type, double amount, double balanceAfter,
+            long timestampMillis, String description, String counterparty) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        // Clamp against clock steps so the log stays sorted by time
+        int total = size();
+        timestamps[size] = total > 0 ? Math.max(timestampMillis, getTimestampMillisAt(total - 1)) : timestampMillis;
+        amounts[size] = toPaise(amount);
+        balances[size] = toPaise(balanceAfter);
+        types[size] = (byte) type.ordinal();
+        int descriptionId = DescriptionPool.intern(description);
+        descriptions[size] = descriptionId;
+        if (descriptionId == DescriptionPool.NOT_POOLED && texts == null) {
+            texts = new String[ids.length];
+        }
+        if (texts != null) {
+            texts[size] = descriptionId == DescriptionPool.NOT_POOLED ? description : null;
+        }
+        if (counterparty != null && counterparties == null) {
+            counterparties = new String[ids.length];
+        }
+        if (counterparties != null) {
+            counterparties[size] = counterparty;
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean add(Transaction txn) {
+        append(Transaction.parseId(txn.getId()), txn.getType(), txn.getAmount(), txn.getBalanceAfter(),
+                toMillis(txn.getTimestamp()), txn.getNarration(), txn.getCounterparty());
+        return true;
+    }
+
+    @Override
+    public Transaction get(int index) {
+        return new Transaction(Transaction.formatId(getIdAt(index)), getTypeAt(index),
+                getAmountAt(index), getBalanceAfterAt(index),
+                toDateTime(getTimestampMillisAt(index)), getNarrationAt(index), getCounterpartyAt(index));
+    }
+
+    @Override
+    public int size() {
+        return archived + size;
+    }
+
+    // Column accessors for readers that do not need a Transaction object
+    public long getIdAt(int index) {
+        return index < archived ? archive.getIdAt(checkIndex(index)) : ids[resident(index)];
+    }
+
+    public TransactionType getTypeAt(int index) {
+        return index < archived ? archive.getTypeAt(checkIndex(index)) : TYPES[types[resident(index)]];
+    }
+
+    public double getAmountAt(int index) {
+        return index < archived ? archive.getAmountAt(checkIndex(index)) : amounts[resident(index)] / 100.0;
+    }
+
+    public double getBalanceAfterAt(int index) {
+        return index < archived ? archive.getBalanceAfterAt(checkIndex(index)) : balances[resident(index)] / 100.0;
+    }
+
+    public long getTimestampMillisAt(int index) {
+        return index < archived ? archive.getTimestampMillisAt(checkIndex(index)) : timestamps[resident(index)];
+    }
+
+    public String getDescriptionAt(int index) {
+        return Transaction.describe(getNarrationAt(index), getTypeAt(index), getCounterpartyAt(index));
+    }
+
+    public String getNarrationAt(int index) {
+        if (index < archived) {
+            return archive.getNarrationAt(checkIndex(index));
+        }
+        int slot = resident(index);
+        int descriptionId = descriptions[slot];
+        return descriptionId == DescriptionPool.NOT_POOLED ? texts[slot] : DescriptionPool.lookup(descriptionId);
+    }
+
+    public String getCounterpartyAt(int index) {
+        if (index < archived) {
+            return archive.getCounterpartyAt(checkIndex(index));
+        }
+        int slot = resident(index);
+        return counterparties == null ? null : counterparties[slot];
+    }
+
+    public int getArchivedCount() {
+        return archived;
+    }
+
+    /**
+     * Hands the oldest archive.size() entries over to the archive, which must
+     * hold exactly those entries, and drops them from the heap.
+     */
+    public void attachArchive(HistoryArchive newArchive) {
+        int count = newArchive.size();
+        if (count < archived || count > size()) {
+            throw new IllegalArgumentException("Archive of " + count + " entries does not fit a log of "
+                    + size() + " with " + archived + " archived");
+        }
+        int dropped = count - archived;
+        int keep = size - dropped;
+        System.arraycopy(ids, dropped, ids, 0, keep);
+        System.arraycopy(timestamps, dropped, timestamps, 0, keep);
+        System.arraycopy(amounts, dropped, amounts, 0, keep);
+        System.arraycopy(balances, dropped, balances, 0, keep);
+        System.arraycopy(types, dropped, types, 0, keep);
+        System.arraycopy(descriptions, dropped, descriptions, 0, keep);
+        if (texts != null) {
+            System.arraycopy(texts, dropped, texts, 0, keep);
+        }
+        if (counterparties != null) {
+            System.arraycopy(counterparties, dropped, counterparties, 0, keep);
+        }
+        size = keep;
+        archive = count > 0 ? newArchive : null;
+        archived = count;
+        trimToSize();
+    }
+
+    // Newest-first view of the last n entries; touches only those n
+    public List<Transaction> latest(int n) {
+        int total = size();
+        int count = Math.max(0, Math.min(n, total));
+        List<Transaction> result = new ArrayList<>(count);
+        for (int i = total - 1; i >= total - count; i--) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    // Entries with fromMillis <= timestamp < toMillis, oldest first
+    public List<Transaction> between(long fromMillis, long toMillis) {
+        int start = lowerBound(fromMillis);
+        int end = Math.max(start, lowerBound(toMillis));
+        List<Transaction> result = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    // First index whose timestamp is >= millis
+    public int lowerBound(long millis) {
+        int low = 0;
+        int high = size();
+        // Probe the resident window first; most queries are about recent activity
+        if (size > 0 && timestamps[0] < millis) {
+            low = archived;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getTimestampMillisAt(mid) < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public void trimToSize() {
+        if (size < ids.length) {
+            resize(Math.max(size, 1));
+        }
+    }
+
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public static long nowMillis() {
+        return toMillis(LocalDateTime.now());
+    }
+
+    private static long toPaise(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return index;
+    }
+
+    private int resident(int index) {
+        return checkIndex(index) - archived;
+    }
+
+    private void grow() {
+        resize(ids.length + (ids.length >> 1) + 1);
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        timestamps = new long[capacity];
+        amounts = new long[capacity];
+        balances = new long[capacity];
+        types = new byte[capacity];
+        descriptions = new int[capacity];
+        texts = null;
+        counterparties = null;
+    }
+
+    private void resize(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        balances = Arrays.copyOf(balances, capacity);
+        types = Arrays.copyOf(types, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        if (texts != null) {
+            texts = Arrays.copyOf(texts, capacity);
+        }
+        if (counterparties != null) {
+            counterparties = Arrays.copyOf(counterparties, capacity);
+        }
+    }
+
+    // Pool ids are process-local, so descriptions travel as (shared) String objects, with
+    // the counterparty folded back into the text to keep the stream layout unchanged.
+    // Archived entries are written out too; a deserialized log is fully resident.
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        int total = size();
+        out.writeInt(total);
+        for (int i = 0; i < total; i++) {
+            out.writeLong(getIdAt(i));
+            out.writeLong(getTimestampMillisAt(i));
+            out.writeLong(toPaise(getAmountAt(i)));
+            out.writeLong(toPaise(getBalanceAfterAt(i)));
+            out.writeByte(getTypeAt(i).ordinal());
+            out.writeObject(getDescriptionAt(i));
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        allocate(Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            ids[i] = in.readLong();
+            timestamps[i] = in.readLong();
+            amounts[i] = in.readLong();
+            balances[i] = in.readLong();
+            types[i] = in.readByte();
+            String description = (String) in.readObject();
+            descriptions[i] = DescriptionPool.intern(description);
+            if (descriptions[i] == DescriptionPool.NOT_POOLED) {
+                if (texts == null) {
+                    texts = new String[ids.length];
+                }
+                texts[i] = description;
+            }
+        }
+        size = count;
+    }
+
+    static TransactionLog of(List<Transaction> history) {
+        return history instanceof TransactionLog log ? log : new TransactionLog(history);
+    }
+}
@@ -0,0 +1,8 @@
+package com.banking.repository;
+
+import com.banking.model.AccountType;
+
+// Hands out unique account numbers; implementations must be safe for concurrent callers
+public interface AccountNumberAllocator {
+    String nextAccountNumber(AccountType type);
+}
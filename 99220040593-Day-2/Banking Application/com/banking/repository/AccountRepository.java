@@ -1,17 +1,54 @@
 package com.banking.repository;
 
 import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Transaction;
 import com.banking.exception.AccountNotFoundException;
 import java.util.List;
+import java.util.Map;
 
 public interface AccountRepository {
+    // Writes a fresh snapshot and resets the journal; throws UncheckedIOException if the snapshot was not saved
     void saveAll(List<Account> accounts);
 
     List<Account> loadAll();
 
-    void addAccount(Account account);
+    // Journal writes return a ticket that awaitDurable can wait on
+    long addAccount(Account account);
+
+    long recordTransaction(Account account, Transaction transaction);
+
+    long recordTransactions(List<Map.Entry<Account, Transaction>> entries);
+
+    // Returns once the write behind 'ticket' is as durable as the configured Durability promises;
+    // throws UncheckedIOException if it could not be made durable
+    void awaitDurable(long ticket);
+
+    boolean isCompactionDue();
+
+    // Compaction works one partition at a time: the whole book for a single file, one shard for a sharded book
+    int getPartitionCount();
+
+    boolean isCompactionDue(int partition);
+
+    List<Account> getPartitionAccounts(int partition);
+
+    // Snapshots the partition and resets its journal. The caller holds the locks of the 'lockedAccounts'
+    // accounts it last saw there; if more have been opened since, nothing is written and false is returned
+    boolean compactPartition(int partition, int lockedAccounts);
 
     Account findAccount(String accountNumber) throws AccountNotFoundException;
 
     List<Account> getAllAccounts();
+
+    List<Account> findByAadhaar(String aadhaar);
+
+    List<Account> findByType(AccountType type);
+
+    // Case-insensitive; prefix matches any word of the holder name
+    List<Account> findByHolderPrefix(String prefix, int limit);
+
+    List<Account> findByHolderSubstring(String text, int limit);
+
+    AccountNumberAllocator getAccountNumberAllocator();
 }
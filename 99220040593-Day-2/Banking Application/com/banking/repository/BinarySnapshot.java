@@ -0,0 +1,348 @@
+package com.banking.repository;
+
+import com.banking.model.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary snapshot of the account book, read back through a
+ * memory-mapped buffer.
+ *
+ * Layout (big-endian):
+ * file header : magic, version, accountCount, descriptionCount, descriptionTableOffset
+ * per account : fixed-width header, UTF-8 strings, then a length-prefixed
+ *               block of fixed-width transaction entries
+ * trailer     : string table of descriptions and transfer counterparties;
+ *               transactions refer to both by index (-1: no counterparty)
+ *
+ * Version 1 entries lack the counterparty index and are still read.
+ *
+ * Loading can leave the older part of each history block on disk: those
+ * entries are served through a SnapshotArchive and only a recent window is
+ * decoded onto the heap.
+ */
+public final class BinarySnapshot {
+    public static final int MAGIC = 0x424E4B53; // "BNKS"
+    public static final short VERSION = 2;
+
+    private static final int FILE_HEADER_BYTES = 4 + 2 + 2 + 4 + 4 + 8;
+    // type, flags, reserved, balance, param1, param2, txnCount, 3 string lengths
+    private static final int ACCOUNT_HEADER_BYTES = 1 + 1 + 2 + 8 + 8 + 8 + 4 + 2 + 2 + 2;
+    // id, type, amount, balanceAfter, timestamp, descriptionIndex, counterpartyIndex
+    static final int TRANSACTION_BYTES = 8 + 1 + 8 + 8 + 8 + 4 + 4;
+    static final int V1_TRANSACTION_BYTES = TRANSACTION_BYTES - 4;
+
+    private static final byte FLAG_ACTIVE = 1;
+    private static final byte FLAG_MATURITY_PROCESSED = 2;
+
+    private BinarySnapshot() {
+    }
+
+    // Cheap magic-number check used to pick a loader
+    public static boolean isBinarySnapshot(Path path) {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // keep reading until 4 bytes or EOF
+            }
+            return magic.position() == 4 && magic.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static void write(List<Account> accounts, Path path) throws IOException {
+        Map<String, Integer> descriptions = new HashMap<>();
+        List<String> descriptionTable = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            channel.position(FILE_HEADER_BYTES); // header is written last, once offsets are known
+
+            for (Account account : accounts) {
+                byte[] number = account.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+                byte[] name = utf8(account.getHolderName());
+                byte[] aadhaar = utf8(account.getHolderAadhaar());
+                TransactionLog history = account.getTransactionLog();
+
+                ensure(channel, buffer, ACCOUNT_HEADER_BYTES + number.length + name.length + aadhaar.length + 4);
+                buffer.put((byte) account.getType().ordinal());
+                buffer.put(flagsOf(account));
+                buffer.putShort((short) 0);
+                buffer.putDouble(account.getBalance());
+                writeTypeParams(account, buffer);
+                buffer.putInt(history.size());
+                buffer.putShort((short) number.length);
+                buffer.putShort((short) name.length);
+                buffer.putShort((short) aadhaar.length);
+                buffer.put(number).put(name).put(aadhaar);
+                buffer.putInt(history.size() * TRANSACTION_BYTES);
+
+                for (int t = 0; t < history.size(); t++) {
+                    ensure(channel, buffer, TRANSACTION_BYTES);
+                    String counterparty = history.getCounterpartyAt(t);
+                    buffer.putLong(history.getIdAt(t));
+                    buffer.put((byte) history.getTypeAt(t).ordinal());
+                    buffer.putDouble(history.getAmountAt(t));
+                    buffer.putDouble(history.getBalanceAfterAt(t));
+                    buffer.putLong(history.getTimestampMillisAt(t));
+                    buffer.putInt(indexOf(history.getNarrationAt(t), descriptions, descriptionTable));
+                    buffer.putInt(counterparty == null ? -1 : indexOf(counterparty, descriptions, descriptionTable));
+                }
+            }
+
+            drain(channel, buffer);
+            long descriptionTableOffset = channel.position();
+            for (String description : descriptionTable) {
+                byte[] bytes = utf8(description);
+                ensure(channel, buffer, 2 + bytes.length);
+                buffer.putShort((short) bytes.length);
+                buffer.put(bytes);
+            }
+            drain(channel, buffer);
+
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+            header.putInt(MAGIC);
+            header.putShort(VERSION);
+            header.putShort((short) 0);
+            header.putInt(accounts.size());
+            header.putInt(descriptionTable.size());
+            header.putLong(descriptionTableOffset);
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    public static List<Account> read(Path path) throws IOException {
+        return read(path, null, Integer.MAX_VALUE);
+    }
+
+    // Opens 'path' as cold storage for the history blocks it holds
+    public static SnapshotArchive openArchive(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = map(channel, path);
+            readFileHeader(buffer, path);
+            return new SnapshotArchive(path, readDescriptions(buffer, buffer.getInt(12), buffer.getLong(16)),
+                    entryBytes(buffer));
+        }
+    }
+
+    /**
+     * Loads the book. When 'archive' (opened on the same file) is given, only
+     * the last recentWindow transactions of each account are decoded; older
+     * ones stay in the file and are read through the archive on demand.
+     */
+    public static List<Account> read(Path path, SnapshotArchive archive, int recentWindow) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = map(channel, path);
+            int accountCount = readFileHeader(buffer, path);
+            String[] descriptionTable = readDescriptions(buffer, buffer.getInt(12), buffer.getLong(16));
+            int entryBytes = entryBytes(buffer);
+
+            AccountType[] accountTypes = AccountType.values();
+            TransactionType[] transactionTypes = TransactionType.values();
+            List<Account> accounts = new ArrayList<>(accountCount);
+            for (int i = 0; i < accountCount; i++) {
+                AccountType type = accountTypes[buffer.get()];
+                byte flags = buffer.get();
+                buffer.getShort();
+                double balance = buffer.getDouble();
+                double param1 = buffer.getDouble();
+                long param2 = buffer.getLong();
+                int transactionCount = buffer.getInt();
+                int numberLength = Short.toUnsignedInt(buffer.getShort());
+                int nameLength = Short.toUnsignedInt(buffer.getShort());
+                int aadhaarLength = Short.toUnsignedInt(buffer.getShort());
+                String number = readString(buffer, numberLength);
+                String name = readString(buffer, nameLength);
+                String aadhaar = readString(buffer, aadhaarLength);
+                buffer.getInt(); // block length, used by readers that skip history
+
+                int entriesOffset = buffer.position();
+                int cold = archive == null ? 0 : Math.max(0, transactionCount - recentWindow);
+                TransactionLog history = cold == 0 ? new TransactionLog(transactionCount)
+                        : new TransactionLog(archive.segment(entriesOffset, cold), transactionCount - cold);
+                buffer.position(entriesOffset + cold * entryBytes);
+                for (int t = cold; t < transactionCount; t++) {
+                    long id = buffer.getLong();
+                    TransactionType txnType = transactionTypes[buffer.get()];
+                    double amount = buffer.getDouble();
+                    double balanceAfter = buffer.getDouble();
+                    long timestamp = buffer.getLong();
+                    String description = descriptionTable[buffer.getInt()];
+                    int counterpartyIndex = entryBytes == TRANSACTION_BYTES ? buffer.getInt() : -1;
+                    history.append(id, txnType, amount, balanceAfter, timestamp, description,
+                            counterpartyIndex < 0 ? null : descriptionTable[counterpartyIndex]);
+                }
+                accounts.add(restoreAccount(type, number, name, aadhaar, balance, param1, param2, flags, history));
+            }
+            return accounts;
+        }
+    }
+
+    /**
+     * Moves history into a snapshot just written from 'accounts': everything
+     * but the last recentWindow entries of each account is re-pointed at
+     * 'archive' (opened on that snapshot) and dropped from the heap. Callers
+     * must keep writers out until this returns.
+     */
+    public static void archiveHistory(List<Account> accounts, Path path, SnapshotArchive archive, int recentWindow)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = map(channel, path);
+            int accountCount = readFileHeader(buffer, path);
+            if (accountCount != accounts.size()) {
+                throw new IOException("Snapshot " + path + " does not match the book it was written from");
+            }
+            for (Account account : accounts) {
+                buffer.position(buffer.position() + 1 + 1 + 2 + 8 + 8 + 8);
+                int transactionCount = buffer.getInt();
+                int numberLength = Short.toUnsignedInt(buffer.getShort());
+                int nameLength = Short.toUnsignedInt(buffer.getShort());
+                int aadhaarLength = Short.toUnsignedInt(buffer.getShort());
+                String number = readString(buffer, numberLength);
+                buffer.position(buffer.position() + nameLength + aadhaarLength);
+                int blockLength = buffer.getInt();
+                TransactionLog history = account.getTransactionLog();
+                if (!number.equals(account.getAccountNumber()) || transactionCount != history.size()) {
+                    throw new IOException("Snapshot " + path + " does not match account " + account.getAccountNumber());
+                }
+                int cold = Math.max(0, transactionCount - recentWindow);
+                if (cold > 0) {
+                    history.attachArchive(archive.segment(buffer.position(), cold));
+                }
+                buffer.position(buffer.position() + blockLength);
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, Path path) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot larger than 2 GB cannot be mapped in one region: " + path);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    // Validates the file header and returns the account count, leaving the buffer at the first account
+    private static int readFileHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a binary account snapshot: " + path);
+        }
+        short version = buffer.getShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " in " + path);
+        }
+        buffer.getShort();
+        int accountCount = buffer.getInt();
+        buffer.position(FILE_HEADER_BYTES);
+        return accountCount;
+    }
+
+    // Width of one transaction entry in the snapshot whose header 'buffer' holds
+    private static int entryBytes(ByteBuffer buffer) {
+        return buffer.getShort(4) == 1 ? V1_TRANSACTION_BYTES : TRANSACTION_BYTES;
+    }
+
+    private static int indexOf(String text, Map<String, Integer> indexes, List<String> table) {
+        Integer index = indexes.get(text);
+        if (index == null) {
+            index = table.size();
+            indexes.put(text, index);
+            table.add(text);
+        }
+        return index;
+    }
+
+    // Migrates a Java-serialized book (plus its journal) to the binary format
+    public static void convert(String serializedFile, String binaryFile) throws IOException {
+        FileAccountRepository source = new FileAccountRepository(serializedFile);
+        write(source.getAllAccounts(), Path.of(binaryFile));
+    }
+
+    private static void writeTypeParams(Account account, ByteBuffer buffer) {
+        if (account instanceof SavingsAccount savings) {
+            buffer.putDouble(savings.getMinBalance());
+            buffer.putLong(0);
+        } else if (account instanceof CurrentAccount current) {
+            buffer.putDouble(current.getOverdraftLimit());
+            buffer.putLong(0);
+        } else if (account instanceof FixedDepositAccount fd) {
+            buffer.putDouble(fd.getInterestRate());
+            buffer.putLong(TransactionLog.toMillis(fd.getMaturityDate()));
+        } else {
+            throw new IllegalArgumentException("Unsupported account class: " + account.getClass().getName());
+        }
+    }
+
+    private static byte flagsOf(Account account) {
+        byte flags = account.isActive() ? FLAG_ACTIVE : 0;
+        if (account instanceof FixedDepositAccount fd && fd.isMaturityProcessed()) {
+            flags |= FLAG_MATURITY_PROCESSED;
+        }
+        return flags;
+    }
+
+    private static Account restoreAccount(AccountType type, String number, String name, String aadhaar,
+            double balance, double param1, long param2, byte flags, List<Transaction> history) {
+        boolean active = (flags & FLAG_ACTIVE) != 0;
+        return switch (type) {
+            case SAVINGS -> new SavingsAccount(number, name, aadhaar, balance, (int) param1, active, history);
+            case CURRENT -> new CurrentAccount(number, name, aadhaar, balance, param1, active, history);
+            case FIXED_DEPOSIT -> new FixedDepositAccount(number, name, aadhaar, balance,
+                    TransactionLog.toDateTime(param2), param1, (flags & FLAG_MATURITY_PROCESSED) != 0, active, history);
+        };
+    }
+
+    private static String[] readDescriptions(MappedByteBuffer buffer, int count, long offset) {
+        ByteBuffer table = buffer.duplicate();
+        table.position((int) offset);
+        String[] descriptions = new String[count];
+        for (int i = 0; i < count; i++) {
+            descriptions[i] = readString(table, Short.toUnsignedInt(table.getShort()));
+        }
+        return descriptions;
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+            if (buffer.remaining() < bytes) {
+                throw new IOException("Record of " + bytes + " bytes exceeds write buffer");
+            }
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,143 @@
+package com.banking.repository;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates account numbers from one sequence per account type. Sequences
+ * are reserved in blocks: the end of the current block (the high-water mark)
+ * is written to disk before any number inside it is handed out, so after a
+ * restart allocation resumes past everything that might have been used.
+ * Inside a block a number costs a single atomic increment; only the thread
+ * that crosses a block boundary takes the lock to reserve the next one.
+ */
+public class BlockAccountNumberAllocator implements AccountNumberAllocator {
+    private static final int DEFAULT_BLOCK_SIZE = 1000;
+    private static final int MIN_DIGITS = 6;
+
+    private final Path highWaterFile;
+    private final int blockSize;
+    private final AtomicLong[] next = new AtomicLong[AccountType.values().length];
+    private final long[] limits = new long[AccountType.values().length];
+    private volatile long[] publishedLimits;
+
+    public BlockAccountNumberAllocator(String highWaterFile, Collection<Account> existing) {
+        this(highWaterFile, existing, DEFAULT_BLOCK_SIZE);
+    }
+
+    // existing: accounts already in the book, whose numbers must never be reissued
+    public BlockAccountNumberAllocator(String highWaterFile, Collection<Account> existing, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.highWaterFile = Paths.get(highWaterFile);
+        this.blockSize = blockSize;
+        long[] start = readHighWaterMarks();
+        for (Account account : existing) {
+            int t = account.getType().ordinal();
+            start[t] = Math.max(start[t], suffixOf(account) + 1);
+        }
+        for (int t = 0; t < next.length; t++) {
+            next[t] = new AtomicLong(start[t]);
+            limits[t] = start[t];
+        }
+        this.publishedLimits = limits.clone();
+    }
+
+    @Override
+    public String nextAccountNumber(AccountType type) {
+        int t = type.ordinal();
+        long number = next[t].getAndIncrement();
+        if (number >= publishedLimits[t]) {
+            reserveThrough(t, number);
+        }
+        return format(type, number);
+    }
+
+    // Extends the reserved range until it covers 'number', persisting before publishing
+    private synchronized void reserveThrough(int t, long number) {
+        if (number < limits[t]) {
+            return;
+        }
+        long limit = limits[t];
+        while (limit <= number) {
+            limit += blockSize;
+        }
+        long[] updated = limits.clone();
+        updated[t] = limit;
+        writeHighWaterMarks(updated);
+        limits[t] = limit;
+        publishedLimits = updated;
+    }
+
+    private long[] readHighWaterMarks() {
+        long[] marks = new long[AccountType.values().length];
+        Arrays.fill(marks, 1);
+        if (!Files.exists(highWaterFile)) {
+            return marks;
+        }
+        try {
+            List<String> lines = Files.readAllLines(highWaterFile, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                int eq = line.indexOf('=');
+                if (eq > 0) {
+                    AccountType type = AccountType.valueOf(line.substring(0, eq).trim());
+                    marks[type.ordinal()] = Long.parseLong(line.substring(eq + 1).trim());
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Unreadable marks would risk reissuing numbers
+            throw new IllegalStateException("❌ Cannot read account number marks from " + highWaterFile, e);
+        }
+        return marks;
+    }
+
+    private void writeHighWaterMarks(long[] marks) {
+        StringBuilder content = new StringBuilder();
+        for (AccountType type : AccountType.values()) {
+            content.append(type.name()).append('=').append(marks[type.ordinal()]).append('\n');
+        }
+        Path temp = Paths.get(highWaterFile + ".tmp");
+        try {
+            Files.write(temp, content.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, highWaterFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("❌ Cannot reserve account numbers: " + e.getMessage(), e);
+        }
+    }
+
+    // Numeric part of an account number, or -1 if it was not issued in CODE + digits form
+    private static long suffixOf(Account account) {
+        String number = account.getAccountNumber();
+        String code = account.getType().getCode();
+        if (!number.startsWith(code) || number.length() == code.length()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(number.substring(code.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String format(AccountType type, long number) {
+        String digits = Long.toString(number);
+        StringBuilder sb = new StringBuilder(type.getCode().length() + Math.max(digits.length(), MIN_DIGITS));
+        sb.append(type.getCode());
+        for (int i = digits.length(); i < MIN_DIGITS; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+}
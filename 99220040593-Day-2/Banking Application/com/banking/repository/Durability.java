@@ -0,0 +1,11 @@
+package com.banking.repository;
+
+// How journal appends reach the disk
+public enum Durability {
+    // Written and flushed to the OS by the caller; no fsync
+    BUFFERED,
+    // Queued for the background flusher; callers return immediately
+    ASYNC,
+    // Queued for the background flusher; callers wait until their batch is fsynced
+    SYNC
+}
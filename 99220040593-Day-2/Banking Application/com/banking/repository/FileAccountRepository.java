@@ -1,18 +1,98 @@
 package com.banking.repository;
 
 import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.FixedDepositAccount;
+import com.banking.model.Transaction;
 import com.banking.exception.AccountNotFoundException;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FileAccountRepository implements AccountRepository {
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 10_000;
+    private static final int DEFAULT_RECENT_WINDOW = 64;
+
     private List<Account> accounts;
     private String filename;
+    private TransactionJournal journal;
+    private long compactionThreshold;
+    private SnapshotFormat format;
+    private Durability durability;
+    private AccountNumberAllocator numberAllocator;
+    private int recentWindow;
+    private SnapshotArchive archive;
+
+    // Indexes kept in sync with the accounts list
+    private Map<String, Account> accountIndex = new ConcurrentHashMap<>();
+    private Map<String, List<Account>> aadhaarIndex = new HashMap<>();
+    private Map<AccountType, List<Account>> typeIndex = new EnumMap<>(AccountType.class);
+    private HolderNameIndex holderIndex = new HolderNameIndex();
 
     public FileAccountRepository(String filename) {
+        this(filename, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public FileAccountRepository(String filename, long compactionThreshold) {
+        this(filename, compactionThreshold, SnapshotFormat.SERIALIZED);
+    }
+
+    public FileAccountRepository(String filename, SnapshotFormat format) {
+        this(filename, DEFAULT_COMPACTION_THRESHOLD, format);
+    }
+
+    public FileAccountRepository(String filename, long compactionThreshold, SnapshotFormat format) {
+        this(filename, compactionThreshold, format, Durability.BUFFERED);
+    }
+
+    public FileAccountRepository(String filename, SnapshotFormat format, Durability durability) {
+        this(filename, DEFAULT_COMPACTION_THRESHOLD, format, durability);
+    }
+
+    public FileAccountRepository(String filename, long compactionThreshold, SnapshotFormat format,
+            Durability durability) {
+        this(filename, compactionThreshold, format, durability, DEFAULT_RECENT_WINDOW);
+    }
+
+    // compactionThreshold: journal records after which a fresh snapshot is taken
+    // format: layout used when writing snapshots; either layout is accepted on load
+    // durability: whether journal appends are fsynced in background batches, and whether callers wait
+    // recentWindow: transactions per account kept on the heap when the snapshot is binary;
+    //               older ones are read from the snapshot file on demand
+    public FileAccountRepository(String filename, long compactionThreshold, SnapshotFormat format,
+            Durability durability, int recentWindow) {
+        this(filename, compactionThreshold, format, durability, recentWindow, true);
+    }
+
+    // ownSequence: false for shards, which draw numbers from the sharded book's sequence instead
+    FileAccountRepository(String filename, long compactionThreshold, SnapshotFormat format,
+            Durability durability, int recentWindow, boolean ownSequence) {
         this.filename = filename;
-        this.accounts = loadAll();
+        this.compactionThreshold = compactionThreshold;
+        this.format = format;
+        this.durability = durability;
+        this.recentWindow = recentWindow;
+        this.journal = new TransactionJournal(filename + ".journal", durability);
+        this.accounts = loadSnapshot();
+        rebuildIndexes();
+        replayJournal();
+        for (Account account : findByType(AccountType.FIXED_DEPOSIT)) {
+            ((FixedDepositAccount) account).markMaturityFromHistory();
+        }
+        if (ownSequence) {
+            this.numberAllocator = new BlockAccountNumberAllocator(filename + ".seq", accounts);
+        }
     }
 
     @Override
@@ -20,19 +100,78 @@ public class FileAccountRepository implements AccountRepository {
         saveToDisk();
     }
 
-    // Helper to save current state
-    public void saveToDisk() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
-            oos.writeObject(accounts);
+    // Helper to save current state as a snapshot and reset the journal.
+    // Throws UncheckedIOException if it fails; the journal is then kept, so nothing is lost
+    public synchronized void saveToDisk() {
+        Path target = Paths.get(filename);
+        Path temp = Paths.get(filename + ".tmp");
+        try {
+            writeSnapshot(temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journal.truncate();
             System.out.println("💾 Data saved to " + filename);
         } catch (IOException e) {
-            System.err.println("❌ Save failed: " + e.getMessage());
+            throw new UncheckedIOException("Save failed for " + filename + ": " + e.getMessage(), e);
+        }
+        if (format == SnapshotFormat.BINARY) {
+            archiveHistory(target);
+        }
+    }
+
+    // Moves all but the recent window of each history into the snapshot just written
+    private void archiveHistory(Path snapshot) {
+        try {
+            SnapshotArchive fresh = BinarySnapshot.openArchive(snapshot);
+            BinarySnapshot.archiveHistory(accounts, snapshot, fresh, recentWindow);
+            if (archive != null) {
+                archive.close(); // every log now points at the fresh archive
+            }
+            archive = fresh;
+        } catch (IOException e) {
+            System.err.println("❌ History archiving failed: " + e.getMessage());
+        }
+    }
+
+    // Initial load: binary snapshots keep older history on disk behind an archive
+    private List<Account> loadSnapshot() {
+        Path path = Paths.get(filename);
+        if (!BinarySnapshot.isBinarySnapshot(path)) {
+            return loadAll();
+        }
+        try {
+            archive = BinarySnapshot.openArchive(path);
+            return BinarySnapshot.read(path, archive, recentWindow);
+        } catch (IOException e) {
+            System.err.println("❌ Load failed: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private void writeSnapshot(Path path) throws IOException {
+        if (format == SnapshotFormat.BINARY) {
+            BinarySnapshot.write(accounts, path);
+            return;
+        }
+        FileOutputStream fos = new FileOutputStream(path.toFile());
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(fos))) {
+            oos.writeObject(accounts);
+            oos.flush();
+            fos.getFD().sync(); // on disk before the rename and the journal truncate
         }
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public List<Account> loadAll() {
+        Path path = Paths.get(filename);
+        if (BinarySnapshot.isBinarySnapshot(path)) {
+            try {
+                return BinarySnapshot.read(path);
+            } catch (IOException e) {
+                System.err.println("❌ Load failed: " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
             List<Account> loadedParams = (List<Account>) ois.readObject();
             if (loadedParams != null) {
@@ -45,20 +184,186 @@ public class FileAccountRepository implements AccountRepository {
     }
 
     @Override
-    public void addAccount(Account account) {
+    public synchronized long addAccount(Account account) {
         accounts.add(account);
+        index(account);
+        try {
+            return journal.appendOpen(account);
+        } catch (IOException e) {
+            System.err.println("❌ Journal write failed: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public long recordTransaction(Account account, Transaction transaction) {
+        try {
+            return journal.appendTransaction(account.getAccountNumber(), transaction);
+        } catch (IOException e) {
+            System.err.println("❌ Journal write failed: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public long recordTransactions(List<Map.Entry<Account, Transaction>> entries) {
+        try {
+            return journal.appendTransactions(entries);
+        } catch (IOException e) {
+            System.err.println("❌ Journal write failed: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void awaitDurable(long ticket) {
+        if (durability != Durability.SYNC) {
+            return;
+        }
+        try {
+            journal.awaitDurable(ticket);
+        } catch (IOException e) {
+            // The change is applied in memory but not on disk; the caller must not report success
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Callers run saveAll once writers are paused; see BankServiceImpl
+    @Override
+    public boolean isCompactionDue() {
+        return journal.getRecordCount() >= compactionThreshold;
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return 1;
+    }
+
+    @Override
+    public boolean isCompactionDue(int partition) {
+        return isCompactionDue();
+    }
+
+    @Override
+    public List<Account> getPartitionAccounts(int partition) {
+        return getAllAccounts();
+    }
+
+    @Override
+    public synchronized boolean compactPartition(int partition, int lockedAccounts) {
+        if (accounts.size() > lockedAccounts) {
+            return false;
+        }
+        saveToDisk();
+        return true;
     }
 
     @Override
     public Account findAccount(String accountNumber) throws AccountNotFoundException {
-        return accounts.stream()
-                .filter(acc -> acc.getAccountNumber().equals(accountNumber))
-                .findFirst()
-                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+        Account account = accountIndex.get(accountNumber);
+        if (account == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return account;
     }
 
     @Override
-    public List<Account> getAllAccounts() {
-        return accounts;
+    public synchronized List<Account> getAllAccounts() {
+        return List.copyOf(accounts);
+    }
+
+    @Override
+    public synchronized List<Account> findByAadhaar(String aadhaar) {
+        return List.copyOf(aadhaarIndex.getOrDefault(aadhaar, Collections.emptyList()));
+    }
+
+    @Override
+    public synchronized List<Account> findByType(AccountType type) {
+        return List.copyOf(typeIndex.getOrDefault(type, Collections.emptyList()));
+    }
+
+    // The name index has its own monitor, so searches never wait on journal writes
+    @Override
+    public List<Account> findByHolderPrefix(String prefix, int limit) {
+        return holderIndex.findByPrefix(prefix, limit);
+    }
+
+    @Override
+    public List<Account> findByHolderSubstring(String text, int limit) {
+        return holderIndex.findBySubstring(text, limit);
+    }
+
+    public long getJournalSyncCount() {
+        return journal.getSyncCount();
+    }
+
+    @Override
+    public AccountNumberAllocator getAccountNumberAllocator() {
+        return numberAllocator;
+    }
+
+    // Helper to re-apply journaled activity recorded after the last snapshot
+    private void replayJournal() {
+        try {
+            journal.replay(new TransactionJournal.ReplayHandler() {
+                @Override
+                public void onOpen(Account account) {
+                    if (!accountIndex.containsKey(account.getAccountNumber())) {
+                        accounts.add(account);
+                        index(account);
+                    }
+                }
+
+                @Override
+                public void onTransaction(String accountNumber, Transaction transaction) {
+                    Account account = accountIndex.get(accountNumber);
+                    if (account != null && !alreadyApplied(account, transaction)) {
+                        account.restoreTransaction(transaction);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("❌ Journal replay failed: " + e.getMessage());
+        }
+    }
+
+    // A crash between snapshot and journal reset leaves records the snapshot already holds
+    private boolean alreadyApplied(Account account, Transaction transaction) {
+        List<Transaction> history = account.getTransactions();
+        // Binary snapshots keep millisecond timestamps, so compare at that precision
+        LocalDateTime timestamp = transaction.getTimestamp().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = history.size() - 1; i >= 0; i--) {
+            Transaction existing = history.get(i);
+            if (existing.getTimestamp().isBefore(timestamp)) {
+                return false;
+            }
+            if (existing.getId().equals(transaction.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Helper to rebuild all indexes after a load
+    private void rebuildIndexes() {
+        accountIndex.clear();
+        aadhaarIndex.clear();
+        typeIndex.clear();
+        holderIndex.clear();
+        for (Account account : accounts) {
+            indexKeys(account);
+        }
+        holderIndex.addAll(accounts); // sorted once rather than account by account
+    }
+
+    private void index(Account account) {
+        indexKeys(account);
+        holderIndex.add(account);
+    }
+
+    private void indexKeys(Account account) {
+        accountIndex.put(account.getAccountNumber(), account);
+        aadhaarIndex.computeIfAbsent(account.getHolderAadhaar(), k -> new ArrayList<>()).add(account);
+        typeIndex.computeIfAbsent(account.getType(), k -> new ArrayList<>()).add(account);
     }
 }
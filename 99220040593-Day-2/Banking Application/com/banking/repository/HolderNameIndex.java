@@ -0,0 +1,474 @@
+package com.banking.repository;
+
+import com.banking.model.Account;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Case-insensitive search over holder names, sized for millions of accounts.
+ *
+ * Prefix search: every word start of every name is one packed long
+ * (account ordinal, character offset), kept sorted by the text from that
+ * offset onwards. A query is two binary searches plus a walk over the
+ * matches, so "sha" finds "Sharma", "Rahul Sharma" and "Shah Rukh". New
+ * accounts go into a small sorted run that is merged into the main one
+ * once it grows past 1/64 of the index size.
+ *
+ * Substring search: a posting list of ordinals, in ascending order, per
+ * three-character sequence of the name padded with a space at each end. A
+ * query walks the shortest list of its trigrams, checks the others by
+ * binary search and verifies the survivors. Queries of one or two
+ * characters merge the lists of every trigram containing them, which the
+ * padding makes complete even for one- and two-letter names.
+ *
+ * Holder names never change after an account is opened, so entries are
+ * only ever added. All methods synchronize on the index.
+ */
+public class HolderNameIndex {
+    private static final int MIN_RECENT_RUN = 1024;
+    private static final int MAX_OFFSET = 0xFFFF; // word starts are packed into 16 bits
+
+    private Account[] accounts = new Account[1024];
+    private int count;
+    private long[] sorted = new long[0];
+    private long[] recent = new long[MIN_RECENT_RUN];
+    private int recentSize;
+    private long[] gramKeys = new long[1024]; // open addressing, linear probing
+    private Postings[] gramLists = new Postings[1024];
+    private int gramCount;
+
+    public HolderNameIndex() {
+    }
+
+    public HolderNameIndex(Collection<Account> initial) {
+        addAll(initial);
+    }
+
+    public synchronized void add(Account account) {
+        int ordinal = register(account);
+        String name = account.getHolderName();
+        for (int offset : wordStarts(name)) {
+            insertRecent(pack(ordinal, offset));
+        }
+        indexTrigrams(ordinal, name);
+        if (recentSize > Math.max(MIN_RECENT_RUN, sorted.length >> 6)) {
+            mergeRecent();
+        }
+    }
+
+    /**
+     * Bulk path for loads. Names repeat heavily, so entries are ranked by
+     * their distinct lower-cased texts and then placed with a counting sort,
+     * instead of comparing names entry against entry.
+     */
+    public synchronized void addAll(Collection<Account> batch) {
+        Map<String, Integer> textIds = new HashMap<>();
+        long[] entries = new long[batch.size() * 2 + 1];
+        int[] entryTexts = new int[entries.length];
+        int n = 0;
+        for (Account account : batch) {
+            int ordinal = register(account);
+            String name = account.getHolderName();
+            String lower = lowerCase(name);
+            for (int offset : wordStarts(name)) {
+                if (n == entries.length) {
+                    entries = Arrays.copyOf(entries, n * 2);
+                    entryTexts = Arrays.copyOf(entryTexts, n * 2);
+                }
+                Integer id = textIds.putIfAbsent(lower.substring(offset), textIds.size());
+                entryTexts[n] = id != null ? id : textIds.size() - 1;
+                entries[n++] = pack(ordinal, offset);
+            }
+            indexTrigrams(ordinal, name);
+        }
+        String[] texts = textIds.keySet().toArray(new String[0]);
+        Arrays.sort(texts);
+        int[] rankOf = new int[texts.length];
+        for (int rank = 0; rank < texts.length; rank++) {
+            rankOf[textIds.get(texts[rank])] = rank;
+        }
+        // Stable, and entries were generated in ordinal order, so ties stay in entry order
+        int[] starts = new int[texts.length + 1];
+        for (int i = 0; i < n; i++) {
+            starts[rankOf[entryTexts[i]] + 1]++;
+        }
+        for (int rank = 0; rank < texts.length; rank++) {
+            starts[rank + 1] += starts[rank];
+        }
+        long[] fresh = new long[n];
+        for (int i = 0; i < n; i++) {
+            fresh[starts[rankOf[entryTexts[i]]]++] = entries[i];
+        }
+        sorted = merge(sorted, sorted.length, fresh, n);
+        mergeRecent();
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(accounts, 0, count, null);
+        count = 0;
+        sorted = new long[0];
+        recentSize = 0;
+        gramKeys = new long[1024];
+        gramLists = new Postings[1024];
+        gramCount = 0;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    // Accounts with a name word starting with prefix, ordered by the name from that word on
+    public synchronized List<Account> findByPrefix(String prefix, int limit) {
+        String query = normalize(prefix);
+        Set<Account> matches = new LinkedHashSet<>();
+        if (query.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int i = lowerBound(sorted, sorted.length, query);
+        int j = lowerBound(recent, recentSize, query);
+        // Merge-walk both runs; one account can match at several word starts
+        while (matches.size() < limit) {
+            boolean sortedMatches = i < sorted.length && startsWith(sorted[i], query);
+            boolean recentMatches = j < recentSize && startsWith(recent[j], query);
+            long entry;
+            if (sortedMatches && (!recentMatches || compareEntries(sorted[i], recent[j]) <= 0)) {
+                entry = sorted[i++];
+            } else if (recentMatches) {
+                entry = recent[j++];
+            } else {
+                break;
+            }
+            matches.add(accounts[ordinalOf(entry)]);
+        }
+        return new ArrayList<>(matches);
+    }
+
+    // Accounts whose name contains text anywhere, oldest account first
+    public synchronized List<Account> findBySubstring(String text, int limit) {
+        String query = normalize(text);
+        List<Account> matches = new ArrayList<>(Math.min(Math.max(limit, 0), 64));
+        if (query.isEmpty() || limit <= 0) {
+            return matches;
+        }
+        if (query.length() < 3) {
+            return findShort(query, limit, matches);
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            Postings postings = gramLists[slot(trigram(query, i))];
+            if (postings == null) {
+                return matches; // some trigram occurs in no name at all
+            }
+            if (!lists.contains(postings)) {
+                lists.add(postings);
+            }
+        }
+        lists.sort(Comparator.comparingInt(p -> p.size));
+        Postings shortest = lists.get(0);
+        int[] cursors = new int[lists.size()];
+        for (int k = 0; k < shortest.size && matches.size() < limit; k++) {
+            int ordinal = shortest.ordinals[k];
+            if (inAll(lists, cursors, ordinal) && containsIgnoreCase(accounts[ordinal].getHolderName(), query)) {
+                matches.add(accounts[ordinal]);
+            }
+        }
+        return matches;
+    }
+
+    // k-way merge of every list whose trigram contains the query, lowest ordinal first
+    private List<Account> findShort(String query, int limit, List<Account> matches) {
+        List<Postings> lists = new ArrayList<>();
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Comparator.comparingInt(head -> head[0]));
+        for (int slot = 0; slot < gramLists.length; slot++) {
+            if (gramLists[slot] != null && gramContains(gramKeys[slot], query)) {
+                heads.add(new int[] { gramLists[slot].ordinals[0], lists.size(), 0 });
+                lists.add(gramLists[slot]);
+            }
+        }
+        int last = -1;
+        while (!heads.isEmpty() && matches.size() < limit) {
+            int[] head = heads.poll(); // {ordinal, list, position}
+            if (head[0] != last && containsIgnoreCase(accounts[head[0]].getHolderName(), query)) {
+                matches.add(accounts[head[0]]);
+            }
+            last = head[0];
+            Postings postings = lists.get(head[1]);
+            if (++head[2] < postings.size) {
+                head[0] = postings.ordinals[head[2]];
+                heads.add(head);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Order in which findByPrefix returns matches for the given prefix, for
+     * callers that merge results from several indexes.
+     */
+    public static Comparator<Account> prefixOrder(String prefix) {
+        String query = normalize(prefix);
+        return (a, b) -> {
+            String nameA = a.getHolderName();
+            String nameB = b.getHolderName();
+            return compareFrom(nameA, matchingWordStart(nameA, query), nameB, matchingWordStart(nameB, query));
+        };
+    }
+
+    private int register(Account account) {
+        if (count == accounts.length) {
+            accounts = Arrays.copyOf(accounts, count * 2);
+        }
+        accounts[count] = account;
+        return count++;
+    }
+
+    private void insertRecent(long entry) {
+        if (recentSize == recent.length) {
+            recent = Arrays.copyOf(recent, recentSize * 2);
+        }
+        int at = 0;
+        int high = recentSize;
+        while (at < high) {
+            int mid = (at + high) >>> 1;
+            if (compareEntries(recent[mid], entry) < 0) {
+                at = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        System.arraycopy(recent, at, recent, at + 1, recentSize - at);
+        recent[at] = entry;
+        recentSize++;
+    }
+
+    private void mergeRecent() {
+        if (recentSize > 0) {
+            sorted = merge(sorted, sorted.length, recent, recentSize);
+            recentSize = 0;
+        }
+    }
+
+    private long[] merge(long[] left, int leftSize, long[] right, int rightSize) {
+        long[] merged = new long[leftSize + rightSize];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < leftSize && j < rightSize) {
+            merged[k++] = compareEntries(left[i], right[j]) <= 0 ? left[i++] : right[j++];
+        }
+        while (i < leftSize) {
+            merged[k++] = left[i++];
+        }
+        while (j < rightSize) {
+            merged[k++] = right[j++];
+        }
+        return merged;
+    }
+
+    private void indexTrigrams(int ordinal, String name) {
+        String padded = ' ' + normalize(name) + ' ';
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            long gram = trigram(padded, i);
+            int slot = slot(gram);
+            if (gramLists[slot] == null) {
+                gramKeys[slot] = gram;
+                gramLists[slot] = new Postings();
+                if (++gramCount * 2 > gramKeys.length) {
+                    growGrams();
+                    slot = slot(gram);
+                }
+            }
+            gramLists[slot].add(ordinal);
+        }
+    }
+
+    // Slot holding gram, or the empty slot where it would go
+    private int slot(long gram) {
+        int mask = gramKeys.length - 1;
+        int slot = (int) ((gram * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (gramLists[slot] != null && gramKeys[slot] != gram) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void growGrams() {
+        long[] oldKeys = gramKeys;
+        Postings[] oldLists = gramLists;
+        gramKeys = new long[oldKeys.length * 2];
+        gramLists = new Postings[oldLists.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldLists[i] != null) {
+                int slot = slot(oldKeys[i]);
+                gramKeys[slot] = oldKeys[i];
+                gramLists[slot] = oldLists[i];
+            }
+        }
+    }
+
+    // First position in run whose text sorts at or after query
+    private int lowerBound(long[] run, int size, String query) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareToQuery(run[mid], query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareEntries(long a, long b) {
+        int cmp = compareFrom(accounts[ordinalOf(a)].getHolderName(), offsetOf(a),
+                accounts[ordinalOf(b)].getHolderName(), offsetOf(b));
+        return cmp != 0 ? cmp : Long.compare(a, b);
+    }
+
+    // Compares the entry's text with query, looking only at the first query.length() characters
+    private int compareToQuery(long entry, String query) {
+        String name = accounts[ordinalOf(entry)].getHolderName();
+        int offset = offsetOf(entry);
+        int length = Math.min(name.length() - offset, query.length());
+        for (int i = 0; i < length; i++) {
+            int diff = Character.toLowerCase(name.charAt(offset + i)) - query.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length == query.length() ? 0 : -1;
+    }
+
+    private boolean startsWith(long entry, String query) {
+        return compareToQuery(entry, query) == 0;
+    }
+
+    private static int compareFrom(String a, int offsetA, String b, int offsetB) {
+        int length = Math.min(a.length() - offsetA, b.length() - offsetB);
+        for (int i = 0; i < length; i++) {
+            int diff = Character.toLowerCase(a.charAt(offsetA + i)) - Character.toLowerCase(b.charAt(offsetB + i));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (a.length() - offsetA) - (b.length() - offsetB);
+    }
+
+    // Candidates arrive in ascending order, so each list is searched forward from its cursor
+    private static boolean inAll(List<Postings> lists, int[] cursors, int ordinal) {
+        for (int i = 1; i < lists.size(); i++) {
+            Postings postings = lists.get(i);
+            int from = cursors[i];
+            int step = 1;
+            while (from + step < postings.size && postings.ordinals[from + step] < ordinal) {
+                step <<= 1; // gallop, then binary search the last stride
+            }
+            int found = Arrays.binarySearch(postings.ordinals, from, Math.min(from + step + 1, postings.size), ordinal);
+            cursors[i] = found >= 0 ? found : -found - 1;
+            if (found < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(String name, String query) {
+        for (int i = 0; i + query.length() <= name.length(); i++) {
+            if (name.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] wordStarts(String name) {
+        int[] starts = new int[4];
+        int n = 0;
+        int end = Math.min(name.length(), MAX_OFFSET + 1);
+        for (int i = 0; i < end; i++) {
+            if (!Character.isWhitespace(name.charAt(i)) && (i == 0 || Character.isWhitespace(name.charAt(i - 1)))) {
+                if (n == starts.length) {
+                    starts = Arrays.copyOf(starts, n * 2);
+                }
+                starts[n++] = i;
+            }
+        }
+        return Arrays.copyOf(starts, n);
+    }
+
+    private static int matchingWordStart(String name, String query) {
+        for (int offset : wordStarts(name)) {
+            if (name.regionMatches(true, offset, query, 0, query.length())) {
+                return offset;
+            }
+        }
+        return 0;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : lowerCase(text.strip());
+    }
+
+    // Char by char, to match the comparisons above exactly
+    private static String lowerCase(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            out.append(Character.toLowerCase(text.charAt(i)));
+        }
+        return out.toString();
+    }
+
+    private static long trigram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    private static boolean gramContains(long gram, String query) {
+        char first = (char) (gram >>> 32);
+        char second = (char) (gram >>> 16);
+        char third = (char) gram;
+        char q = query.charAt(0);
+        if (query.length() == 1) {
+            return first == q || second == q || third == q;
+        }
+        char r = query.charAt(1);
+        return (first == q && second == r) || (second == q && third == r);
+    }
+
+    private static long pack(int ordinal, int offset) {
+        return ((long) ordinal << 16) | offset;
+    }
+
+    private static int ordinalOf(long entry) {
+        return (int) (entry >>> 16);
+    }
+
+    private static int offsetOf(long entry) {
+        return (int) (entry & MAX_OFFSET);
+    }
+
+    // Ordinals in ascending order, since accounts are registered in ordinal order
+    private static class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return; // the same trigram twice in one name
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
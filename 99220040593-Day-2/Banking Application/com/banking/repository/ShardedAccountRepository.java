@@ -0,0 +1,239 @@
+package com.banking.repository;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Transaction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the book across N FileAccountRepository shards, chosen by a hash
+ * of the account number. Each shard has its own snapshot file
+ * (filename.shardN), journal and monitor, so writes to different shards
+ * never contend, and shards load and save in parallel.
+ *
+ * Journal tickets carry the shard index in their low byte. A batch that
+ * touches several shards gets a composite ticket which awaitDurable
+ * resolves to one wait per shard.
+ */
+public class ShardedAccountRepository implements AccountRepository {
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 10_000;
+    private static final int DEFAULT_RECENT_WINDOW = 64;
+    private static final int SHARD_SLOTS = 256;
+    private static final int COMPOSITE = SHARD_SLOTS - 1;
+
+    private final FileAccountRepository[] shards;
+    private final Durability durability;
+    private final AccountNumberAllocator numberAllocator;
+    private final Map<Long, long[]> compositeTickets = new ConcurrentHashMap<>();
+    private final AtomicLong compositeSeq = new AtomicLong();
+
+    public ShardedAccountRepository(String filename, int shardCount) {
+        this(filename, shardCount, DEFAULT_COMPACTION_THRESHOLD, SnapshotFormat.BINARY, Durability.BUFFERED);
+    }
+
+    // compactionThreshold, format and durability apply to every shard
+    public ShardedAccountRepository(String filename, int shardCount, long compactionThreshold,
+            SnapshotFormat format, Durability durability) {
+        if (shardCount <= 0 || shardCount >= COMPOSITE) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + (COMPOSITE - 1));
+        }
+        this.durability = durability;
+        this.shards = IntStream.range(0, shardCount).parallel()
+                .mapToObj(i -> new FileAccountRepository(filename + ".shard" + i, compactionThreshold, format,
+                        durability, DEFAULT_RECENT_WINDOW, false))
+                .toArray(FileAccountRepository[]::new);
+        // One sequence for the whole book, so numbers stay unique across shards
+        this.numberAllocator = new BlockAccountNumberAllocator(filename + ".seq", getAllAccounts());
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int shardOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    private FileAccountRepository shardFor(String accountNumber) {
+        return shards[shardOf(accountNumber)];
+    }
+
+    @Override
+    public void saveAll(List<Account> accounts) {
+        IntStream.range(0, shards.length).parallel().forEach(i -> shards[i].saveToDisk());
+    }
+
+    @Override
+    public List<Account> loadAll() {
+        List<Account> all = new ArrayList<>();
+        for (FileAccountRepository shard : shards) {
+            all.addAll(shard.loadAll());
+        }
+        return all;
+    }
+
+    @Override
+    public long addAccount(Account account) {
+        int shard = shardOf(account.getAccountNumber());
+        return ticket(shards[shard].addAccount(account), shard);
+    }
+
+    @Override
+    public long recordTransaction(Account account, Transaction transaction) {
+        int shard = shardOf(account.getAccountNumber());
+        return ticket(shards[shard].recordTransaction(account, transaction), shard);
+    }
+
+    @Override
+    public long recordTransactions(List<Map.Entry<Account, Transaction>> entries) {
+        List<List<Map.Entry<Account, Transaction>>> perShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            perShard.add(new ArrayList<>());
+        }
+        for (Map.Entry<Account, Transaction> entry : entries) {
+            perShard.get(shardOf(entry.getKey().getAccountNumber())).add(entry);
+        }
+        long[] perShardTickets = new long[shards.length];
+        int touched = 0;
+        int lastShard = 0;
+        for (int i = 0; i < shards.length; i++) {
+            if (!perShard.get(i).isEmpty()) {
+                perShardTickets[i] = shards[i].recordTransactions(perShard.get(i));
+                touched++;
+                lastShard = i;
+            }
+        }
+        if (touched <= 1) {
+            return ticket(perShardTickets[lastShard], lastShard);
+        }
+        if (durability != Durability.SYNC) {
+            return 0; // nobody waits, so there is nothing to remember
+        }
+        long id = compositeSeq.incrementAndGet();
+        compositeTickets.put(id, perShardTickets);
+        return id * SHARD_SLOTS + COMPOSITE;
+    }
+
+    @Override
+    public void awaitDurable(long ticket) {
+        int shard = (int) (ticket % SHARD_SLOTS);
+        long seq = ticket / SHARD_SLOTS;
+        if (shard != COMPOSITE) {
+            shards[shard].awaitDurable(seq);
+            return;
+        }
+        long[] perShardTickets = compositeTickets.remove(seq);
+        if (perShardTickets != null) {
+            for (int i = 0; i < perShardTickets.length; i++) {
+                shards[i].awaitDurable(perShardTickets[i]);
+            }
+        }
+    }
+
+    private static long ticket(long shardTicket, int shard) {
+        return shardTicket * SHARD_SLOTS + shard;
+    }
+
+    @Override
+    public boolean isCompactionDue() {
+        for (FileAccountRepository shard : shards) {
+            if (shard.isCompactionDue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Each shard is its own compaction partition, so a busy shard never rewrites the others
+    @Override
+    public int getPartitionCount() {
+        return shards.length;
+    }
+
+    @Override
+    public boolean isCompactionDue(int partition) {
+        return shards[partition].isCompactionDue();
+    }
+
+    @Override
+    public List<Account> getPartitionAccounts(int partition) {
+        return shards[partition].getAllAccounts();
+    }
+
+    @Override
+    public boolean compactPartition(int partition, int lockedAccounts) {
+        return shards[partition].compactPartition(0, lockedAccounts);
+    }
+
+    @Override
+    public Account findAccount(String accountNumber) throws AccountNotFoundException {
+        return shardFor(accountNumber).findAccount(accountNumber);
+    }
+
+    @Override
+    public List<Account> getAllAccounts() {
+        List<Account> all = new ArrayList<>();
+        for (FileAccountRepository shard : shards) {
+            all.addAll(shard.getAllAccounts());
+        }
+        return Collections.unmodifiableList(all);
+    }
+
+    @Override
+    public List<Account> findByAadhaar(String aadhaar) {
+        List<Account> matches = new ArrayList<>();
+        for (FileAccountRepository shard : shards) {
+            matches.addAll(shard.findByAadhaar(aadhaar));
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    @Override
+    public List<Account> findByType(AccountType type) {
+        List<Account> matches = new ArrayList<>();
+        for (FileAccountRepository shard : shards) {
+            matches.addAll(shard.findByType(type));
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    @Override
+    public List<Account> findByHolderPrefix(String prefix, int limit) {
+        List<Account> matches = new ArrayList<>();
+        for (FileAccountRepository shard : shards) {
+            matches.addAll(shard.findByHolderPrefix(prefix, limit));
+        }
+        matches.sort(HolderNameIndex.prefixOrder(prefix));
+        return Collections.unmodifiableList(matches.subList(0, Math.max(0, Math.min(limit, matches.size()))));
+    }
+
+    @Override
+    public List<Account> findByHolderSubstring(String text, int limit) {
+        List<Account> matches = new ArrayList<>();
+        for (int i = 0; i < shards.length && matches.size() < limit; i++) {
+            matches.addAll(shards[i].findByHolderSubstring(text, limit - matches.size()));
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    @Override
+    public AccountNumberAllocator getAccountNumberAllocator() {
+        return numberAllocator;
+    }
+
+    public long getJournalSyncCount() {
+        long total = 0;
+        for (FileAccountRepository shard : shards) {
+            total += shard.getJournalSyncCount();
+        }
+        return total;
+    }
+}
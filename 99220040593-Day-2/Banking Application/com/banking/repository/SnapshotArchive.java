@@ -0,0 +1,156 @@
+package com.banking.repository;
+
+import com.banking.model.HistoryArchive;
+import com.banking.model.TransactionType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cold transaction history served straight from a binary snapshot file.
+ * Entries are read with positional reads through a small LRU page cache,
+ * so only pages that queries actually touch occupy memory. One Segment per
+ * account covers the oldest entries of its history block.
+ */
+public class SnapshotArchive implements Closeable {
+    private static final int PAGE_BYTES = 16 * 1024;
+    private static final int MAX_CACHED_PAGES = 256;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final String[] descriptions;
+    private final int entryBytes;
+    private final Map<Long, ByteBuffer> pages = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    SnapshotArchive(Path path, String[] descriptions, int entryBytes) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.descriptions = descriptions;
+        this.entryBytes = entryBytes;
+    }
+
+    Segment segment(long entriesOffset, int count) {
+        return new Segment(entriesOffset, count);
+    }
+
+    // Copies 'length' bytes at 'offset' into dst, crossing page boundaries as needed
+    private synchronized void read(long offset, byte[] dst, int length) {
+        int copied = 0;
+        while (copied < length) {
+            long position = offset + copied;
+            long pageStart = position - position % PAGE_BYTES;
+            ByteBuffer page = pages.get(pageStart);
+            if (page == null) {
+                page = loadPage(pageStart);
+                pages.put(pageStart, page);
+            }
+            int from = (int) (position - pageStart);
+            int n = Math.min(length - copied, page.limit() - from);
+            if (n <= 0) {
+                throw new IllegalStateException("Archived history past end of " + path);
+            }
+            page.get(from, dst, copied, n);
+            copied += n;
+        }
+    }
+
+    private ByteBuffer loadPage(long pageStart) {
+        ByteBuffer page = ByteBuffer.allocate(PAGE_BYTES);
+        try {
+            while (page.hasRemaining() && channel.read(page, pageStart + page.position()) > 0) {
+                // keep reading until the page is full or EOF
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("❌ Cannot read archived history from " + path + ": " + e.getMessage(), e);
+        }
+        page.flip();
+        return page;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // The oldest 'count' entries of one account, starting at entriesOffset in the file
+    class Segment implements HistoryArchive {
+        private final long entriesOffset;
+        private final int count;
+        private byte[] entry; // allocated on first read; most archived accounts are never read
+        private ByteBuffer view;
+        private int cachedIndex = -1;
+
+        Segment(long entriesOffset, int count) {
+            this.entriesOffset = entriesOffset;
+            this.count = count;
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public synchronized long getIdAt(int index) {
+            return load(index).getLong(0);
+        }
+
+        @Override
+        public synchronized TransactionType getTypeAt(int index) {
+            return TYPES[load(index).get(8)];
+        }
+
+        @Override
+        public synchronized double getAmountAt(int index) {
+            return load(index).getDouble(9);
+        }
+
+        @Override
+        public synchronized double getBalanceAfterAt(int index) {
+            return load(index).getDouble(17);
+        }
+
+        @Override
+        public synchronized long getTimestampMillisAt(int index) {
+            return load(index).getLong(25);
+        }
+
+        @Override
+        public synchronized String getNarrationAt(int index) {
+            return descriptions[load(index).getInt(33)];
+        }
+
+        @Override
+        public synchronized String getCounterpartyAt(int index) {
+            if (entryBytes == BinarySnapshot.V1_TRANSACTION_BYTES) {
+                return null;
+            }
+            int counterparty = load(index).getInt(37);
+            return counterparty < 0 ? null : descriptions[counterparty];
+        }
+
+        // Column reads of one entry usually come together, so the last entry is kept decoded
+        private ByteBuffer load(int index) {
+            if (entry == null) {
+                entry = new byte[entryBytes];
+                view = ByteBuffer.wrap(entry);
+            }
+            if (index != cachedIndex) {
+                read(entriesOffset + (long) index * entryBytes, entry, entry.length);
+                cachedIndex = index;
+            }
+            return view;
+        }
+    }
+}
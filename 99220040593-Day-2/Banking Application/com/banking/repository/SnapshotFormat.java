@@ -0,0 +1,5 @@
+package com.banking.repository;
+
+public enum SnapshotFormat {
+    SERIALIZED, BINARY
+}
@@ -0,0 +1,436 @@
+package com.banking.repository;
+
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionType;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of account openings and transactions.
+ * Each record is framed as [length][crc32][payload] so a torn write at the
+ * tail (crash mid-append) is detected and discarded on replay.
+ *
+ * With ASYNC or SYNC durability, appends only queue the framed record and
+ * return a ticket. A background flusher writes everything queued so far and
+ * fsyncs once per batch: the more writers arrive during one fsync, the more
+ * records the next one covers. awaitDurable(ticket) blocks until the
+ * record's batch is on disk.
+ *
+ * A batch whose write or fsync fails is cut off the file again and retried,
+ * with backoff, ahead of newer records; until a sync succeeds, awaitDurable
+ * throws for every record not yet on disk.
+ *
+ * Waiters block on ReentrantLock conditions rather than object monitors, so
+ * a virtual thread waiting for its batch unmounts from its carrier.
+ */
+public class TransactionJournal {
+    private static final byte OPEN_RECORD = 'O';
+    private static final byte TRANSACTION_RECORD = 'T';
+
+    private final Path path;
+    private final Durability durability;
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private FileOutputStream file;
+    private DataOutputStream out;
+    private long recordCount;
+
+    // Group commit state, guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchQueued = lock.newCondition();
+    private final Condition batchSynced = lock.newCondition();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private ByteArrayOutputStream spare = new ByteArrayOutputStream();
+    private long appendedSeq;
+    private long durableSeq;
+    private long syncCount;
+    private IOException failure; // set while the latest sync attempt failed
+    private long rollbackTo = -1; // guarded by ioLock
+    private Thread flusher;
+
+    public interface ReplayHandler {
+        void onOpen(Account account);
+
+        void onTransaction(String accountNumber, Transaction transaction);
+    }
+
+    public TransactionJournal(String filename) {
+        this(filename, Durability.BUFFERED);
+    }
+
+    public TransactionJournal(String filename, Durability durability) {
+        this.path = Paths.get(filename);
+        this.durability = durability;
+    }
+
+    // Each append returns a ticket for awaitDurable
+    public long appendOpen(Account account) throws IOException {
+        lock.lock();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream payload = new DataOutputStream(bytes);
+            payload.writeByte(OPEN_RECORD);
+            try (ObjectOutputStream oos = new ObjectOutputStream(payload)) {
+                oos.writeObject(account);
+            }
+            writeRecord(bytes.toByteArray());
+            return commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long appendTransaction(String accountNumber, Transaction transaction) throws IOException {
+        lock.lock();
+        try {
+            writeRecord(encodeTransaction(accountNumber, transaction));
+            return commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Appends a group of records with a single flush
+    public long appendTransactions(List<Map.Entry<Account, Transaction>> entries) throws IOException {
+        lock.lock();
+        try {
+            if (entries.isEmpty()) {
+                return appendedSeq;
+            }
+            for (Map.Entry<Account, Transaction> entry : entries) {
+                writeRecord(encodeTransaction(entry.getKey().getAccountNumber(), entry.getValue()));
+            }
+            return commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Blocks until the record behind 'ticket' has been fsynced; no-op when buffered
+    public void awaitDurable(long ticket) throws IOException {
+        lock.lock();
+        try {
+            if (durability == Durability.BUFFERED) {
+                return;
+            }
+            boolean interrupted = false;
+            while (durableSeq < ticket && failure == null) {
+                try {
+                    batchSynced.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (durableSeq < ticket) {
+                throw new IOException("Journal sync failed: " + failure.getMessage(), failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] encodeTransaction(String accountNumber, Transaction transaction) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(TRANSACTION_RECORD);
+        payload.writeUTF(accountNumber);
+        payload.writeUTF(transaction.getId());
+        payload.writeByte(transaction.getType().ordinal());
+        payload.writeDouble(transaction.getAmount());
+        payload.writeDouble(transaction.getBalanceAfter());
+        payload.writeLong(transaction.getTimestamp().toLocalDate().toEpochDay());
+        payload.writeLong(transaction.getTimestamp().toLocalTime().toNanoOfDay());
+        payload.writeUTF(transaction.getNarration() == null ? "" : transaction.getNarration());
+        if (transaction.getCounterparty() != null) {
+            payload.writeUTF(transaction.getCounterparty());
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeRecord(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (durability == Durability.BUFFERED) {
+            openFile();
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+        } else {
+            pending.write(ByteBuffer.allocate(8).putInt(payload.length).putInt((int) crc.getValue()).array());
+            pending.write(payload);
+        }
+        appendedSeq++;
+        recordCount++;
+    }
+
+    // Ends an append: flushes in buffered mode, otherwise wakes the flusher
+    private long commit() throws IOException {
+        if (durability == Durability.BUFFERED) {
+            out.flush();
+            durableSeq = appendedSeq;
+        } else {
+            if (flusher == null) {
+                flusher = new Thread(this::flushLoop, "journal-flusher");
+                flusher.setDaemon(true);
+                flusher.start();
+            }
+            batchQueued.signal();
+        }
+        return appendedSeq;
+    }
+
+    private void flushLoop() {
+        long retryDelayMillis = 0;
+        while (true) {
+            if (retryDelayMillis > 0) {
+                try {
+                    Thread.sleep(retryDelayMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            ByteArrayOutputStream batch;
+            long batchEnd;
+            lock.lock();
+            try {
+                while (pending.size() == 0) {
+                    try {
+                        batchQueued.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                batch = pending;
+                pending = spare;
+                batchEnd = appendedSeq;
+            } finally {
+                lock.unlock();
+            }
+            IOException error = null;
+            ioLock.lock();
+            try {
+                try {
+                    openFile();
+                    FileChannel channel = file.getChannel();
+                    if (rollbackTo >= 0) {
+                        channel.truncate(rollbackTo); // a previous failed batch could not be cut off at the time
+                        rollbackTo = -1;
+                    }
+                    long before = channel.size();
+                    try {
+                        batch.writeTo(file);
+                        channel.force(false); // one fsync for the whole batch
+                    } catch (IOException e) {
+                        rollBack(channel, before);
+                        throw e;
+                    }
+                } catch (IOException e) {
+                    error = e;
+                }
+            } finally {
+                ioLock.unlock();
+            }
+            lock.lock();
+            try {
+                if (error != null) {
+                    if (failure == null) {
+                        System.err.println("❌ Journal sync failed, retrying: " + error.getMessage());
+                    }
+                    failure = error;
+                    // Put the batch back in front of anything appended since, to be written again
+                    try {
+                        pending.writeTo(batch);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // in-memory streams do not throw
+                    }
+                    pending.reset();
+                    spare = pending;
+                    pending = batch;
+                    retryDelayMillis = Math.min(Math.max(2 * retryDelayMillis, 10), 1000);
+                } else {
+                    batch.reset();
+                    spare = batch;
+                    durableSeq = batchEnd;
+                    syncCount++;
+                    if (failure != null) {
+                        System.err.println("✅ Journal sync recovered");
+                        failure = null;
+                    }
+                    retryDelayMillis = 0;
+                }
+                batchSynced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Cuts a partly written batch off the file so no torn record is left ahead of later ones
+    private void rollBack(FileChannel channel, long length) {
+        try {
+            channel.truncate(length);
+        } catch (IOException e) {
+            rollbackTo = length; // retried before the next write
+        }
+    }
+
+    private void openFile() throws IOException {
+        ioLock.lock();
+        try {
+            if (file == null) {
+                file = new FileOutputStream(path.toFile(), true);
+                out = new DataOutputStream(new BufferedOutputStream(file));
+            }
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * Replays every intact record in order. A truncated or corrupt tail is
+     * cut off so later appends start from a clean record boundary.
+     */
+    public void replay(ReplayHandler handler) throws IOException {
+        lock.lock();
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            long validLength = 0;
+            long replayed = 0;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    int checksum;
+                    byte[] payload;
+                    try {
+                        checksum = in.readInt();
+                        if (length <= 0) {
+                            break;
+                        }
+                        payload = new byte[length];
+                        in.readFully(payload);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    CRC32 crc = new CRC32();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                    apply(payload, handler);
+                    validLength += 8 + length;
+                    replayed++;
+                }
+            }
+            if (validLength < Files.size(path)) {
+                System.err.println("⚠️ Discarding torn journal tail in " + path);
+                try (RandomAccessFile raf = new RandomAccessFile(path.toFile(), "rw")) {
+                    raf.setLength(validLength);
+                }
+            }
+            recordCount = replayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(byte[] payload, ReplayHandler handler) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte kind = in.readByte();
+        if (kind == OPEN_RECORD) {
+            try (ObjectInputStream ois = new ObjectInputStream(in)) {
+                handler.onOpen((Account) ois.readObject());
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Unknown account class in journal", e);
+            }
+        } else if (kind == TRANSACTION_RECORD) {
+            String accountNumber = in.readUTF();
+            String id = in.readUTF();
+            TransactionType type = TransactionType.values()[in.readByte()];
+            double amount = in.readDouble();
+            double balanceAfter = in.readDouble();
+            LocalDateTime timestamp = LocalDateTime.of(
+                    LocalDate.ofEpochDay(in.readLong()),
+                    LocalTime.ofNanoOfDay(in.readLong()));
+            String description = in.readUTF();
+            // Optional trailing field; records written before it existed end here
+            String counterparty = in.available() > 0 ? in.readUTF() : null;
+            handler.onTransaction(accountNumber,
+                    new Transaction(id, type, amount, balanceAfter, timestamp, description, counterparty));
+        } else {
+            throw new IOException("Unknown journal record type: " + kind);
+        }
+    }
+
+    // Empties the journal once its contents are covered by a snapshot
+    public void truncate() throws IOException {
+        lock.lock();
+        try {
+            close();
+            Files.deleteIfExists(path);
+            recordCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRecordCount() {
+        lock.lock();
+        try {
+            return recordCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Number of fsyncs issued by the flusher; records / syncs is the mean batch size
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Waits for queued records, then closes the file; the next append reopens it
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            awaitDurable(appendedSeq);
+            ioLock.lock();
+            try {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                    file = null;
+                }
+            } finally {
+                ioLock.unlock();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
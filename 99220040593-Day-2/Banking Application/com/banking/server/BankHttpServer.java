@@ -0,0 +1,307 @@
+package com.banking.server;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.exception.TransactionRejectedException;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Transaction;
+import com.banking.service.BankService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP/JSON front-end for BankService on the JDK's built-in server. Every
+ * request runs on its own virtual thread, so a handler blocked on an
+ * account lock or a journal write parks cheaply instead of pinning a
+ * platform thread.
+ *
+ * POST /accounts                          {holderName, aadhaar, type, initialDeposit,
+ *                                          overdraftLimit | tenureMonths + interestRate}
+ * GET  /accounts?name=sha&limit=20        holder-name search, prefix matches first
+ * GET  /accounts/{number}
+ * POST /accounts/{number}/deposit         {amount, description}
+ * POST /accounts/{number}/withdraw        {amount, description}
+ * GET  /accounts/{number}/transactions?limit=10
+ * POST /transfers                         {from, to, amount, description}
+ * GET  /summary                           plain-text summary report, streamed
+ *
+ * Errors come back as {error}: 400 for malformed input, 404 for unknown
+ * accounts or routes, 413 for bodies over MAX_BODY_BYTES and 422 when the
+ * bank refuses the operation (insufficient funds, inactive account).
+ */
+public class BankHttpServer {
+    private static final int DEFAULT_TRANSACTION_LIMIT = 10;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int MAX_TENURE_MONTHS = 1200;
+
+    static {
+        // Headers and body go out as separate writes; without TCP_NODELAY each
+        // keep-alive response stalls on delayed ACKs for ~40 ms
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final BankService bankService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public BankHttpServer(BankService bankService, int port) throws IOException {
+        this.bankService = bankService;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("🌐 Banking server listening on port " + getPort());
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.close();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (AccountNotFoundException e) {
+                sendError(exchange, 404, e.getMessage());
+            } catch (InsufficientFundsException | TransactionRejectedException e) {
+                sendError(exchange, 422, e.getMessage());
+            } catch (BodyTooLargeException e) {
+                // The rest of the body is left unread, so the connection cannot carry another request
+                exchange.getResponseHeaders().set("Connection", "close");
+                sendError(exchange, 413, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                sendError(exchange, 500, e.getMessage());
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws Exception {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+
+        if (path.length == 1 && path[0].equals("accounts") && method.equals("POST")) {
+            createAccount(exchange);
+        } else if (path.length == 1 && path[0].equals("accounts") && method.equals("GET")) {
+            Map<String, String> params = queryParams(exchange);
+            String name = params.get("name");
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Query parameter 'name' is required");
+            }
+            String limit = params.get("limit");
+            int n = limit == null ? DEFAULT_SEARCH_LIMIT : Integer.parseInt(limit);
+            sendJson(exchange, 200, accountsJson(bankService.searchByHolderName(name, n)));
+        } else if (path.length == 2 && path[0].equals("accounts") && method.equals("GET")) {
+            sendJson(exchange, 200, accountJson(bankService.findAccount(path[1])));
+        } else if (path.length == 3 && path[0].equals("accounts") && method.equals("POST")
+                && (path[2].equals("deposit") || path[2].equals("withdraw"))) {
+            Map<String, Object> body = readBody(exchange);
+            double amount = requireAmount(body);
+            // Account.deposit and withdraw ignore these silently, so they are refused up front
+            if (!bankService.findAccount(path[1]).isActive()) {
+                throw new TransactionRejectedException("Account " + path[1] + " is inactive");
+            }
+            if (path[2].equals("deposit")) {
+                bankService.deposit(path[1], amount, optionalString(body, "description", "Online Deposit"));
+            } else {
+                bankService.withdraw(path[1], amount, optionalString(body, "description", "Online Withdrawal"));
+            }
+            sendJson(exchange, 200, accountJson(bankService.findAccount(path[1])));
+        } else if (path.length == 3 && path[0].equals("accounts") && path[2].equals("transactions")
+                && method.equals("GET")) {
+            String limit = queryParams(exchange).get("limit");
+            int n = limit == null ? DEFAULT_TRANSACTION_LIMIT : Integer.parseInt(limit);
+            sendJson(exchange, 200, transactionsJson(bankService.getLastTransactions(path[1], n)));
+        } else if (path.length == 1 && path[0].equals("transfers") && method.equals("POST")) {
+            Map<String, Object> body = readBody(exchange);
+            String from = requireString(body, "from");
+            String to = requireString(body, "to");
+            double amount = requireAmount(body);
+            bankService.transfer(from, to, amount, optionalString(body, "description", "Online Transfer"));
+            sendJson(exchange, 200, "{\"status\":\"completed\",\"from\":" + Json.quote(from)
+                    + ",\"to\":" + Json.quote(to) + ",\"amount\":" + amount + "}");
+        } else if (path.length == 1 && path[0].equals("summary") && method.equals("GET")) {
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0); // chunked: rows are streamed as they are written
+            bankService.writeSummaryReport(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        } else {
+            sendError(exchange, 404, "No route for " + method + " " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private void createAccount(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        String holderName = requireString(body, "holderName");
+        String aadhaar = requireString(body, "aadhaar");
+        AccountType type = AccountType.valueOf(requireString(body, "type").toUpperCase());
+        double initialDeposit = requireNonNegative(body, "initialDeposit"); // accounts may open empty
+        Account account = switch (type) {
+            case CURRENT -> bankService.createAccount(holderName, aadhaar, type, initialDeposit,
+                    requireNonNegative(body, "overdraftLimit"));
+            case FIXED_DEPOSIT -> bankService.createAccount(holderName, aadhaar, type, initialDeposit,
+                    requireTenure(body), requireNonNegative(body, "interestRate"));
+            default -> bankService.createAccount(holderName, aadhaar, type, initialDeposit);
+        };
+        sendJson(exchange, 201, accountJson(account));
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (declared != null && Long.parseLong(declared.trim()) > MAX_BODY_BYTES) {
+            throw new BodyTooLargeException();
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            // A chunked body has no declared length, so one byte past the cap is read to detect it
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new BodyTooLargeException();
+            }
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String requireString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof String s) || s.isBlank()) {
+            throw new IllegalArgumentException("Field '" + field + "' is required");
+        }
+        return s;
+    }
+
+    private static String optionalString(Map<String, Object> body, String field, String fallback) {
+        return body.get(field) instanceof String s ? s : fallback;
+    }
+
+    private static double requireNumber(Map<String, Object> body, String field) {
+        if (!(body.get(field) instanceof Double d)) {
+            throw new IllegalArgumentException("Numeric field '" + field + "' is required");
+        }
+        return d;
+    }
+
+    private static double requireNonNegative(Map<String, Object> body, String field) {
+        double value = requireNumber(body, field);
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a non-negative number");
+        }
+        return value;
+    }
+
+    // Whole months, so the tenure is not silently truncated when the deposit is opened
+    private static double requireTenure(Map<String, Object> body) {
+        double months = requireNumber(body, "tenureMonths");
+        if (months < 1 || months > MAX_TENURE_MONTHS || months != Math.rint(months)) {
+            throw new IllegalArgumentException(
+                    "Field 'tenureMonths' must be a whole number from 1 to " + MAX_TENURE_MONTHS);
+        }
+        return months;
+    }
+
+    private static double requireAmount(Map<String, Object> body) {
+        double amount = requireNumber(body, "amount");
+        if (!(amount > 0) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Field 'amount' must be a positive number");
+        }
+        return amount;
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                            URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return params;
+    }
+
+    private static String accountJson(Account account) {
+        return "{\"accountNumber\":" + Json.quote(account.getAccountNumber())
+                + ",\"holderName\":" + Json.quote(account.getHolderName())
+                + ",\"type\":" + Json.quote(account.getType().name())
+                + ",\"balance\":" + account.getBalance()
+                + ",\"active\":" + account.isActive() + "}";
+    }
+
+    private static String accountsJson(List<Account> accounts) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Account account : accounts) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append(accountJson(account));
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String transactionsJson(List<Transaction> transactions) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Transaction txn : transactions) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(Json.quote(txn.getId()))
+                    .append(",\"type\":").append(Json.quote(txn.getType().name()))
+                    .append(",\"amount\":").append(txn.getAmount())
+                    .append(",\"balanceAfter\":").append(txn.getBalanceAfter())
+                    .append(",\"timestamp\":").append(Json.quote(txn.getTimestamp().toString()))
+                    .append(",\"description\":").append(Json.quote(txn.getDescription()))
+                    .append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, "{\"error\":" + Json.quote(message) + "}");
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static class BodyTooLargeException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLargeException() {
+            super("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+        }
+    }
+}
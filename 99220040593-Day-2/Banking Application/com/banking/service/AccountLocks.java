@@ -0,0 +1,84 @@
+package com.banking.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks keyed by account number. Several accounts share a stripe,
+ * so memory stays fixed no matter how many accounts exist. Multi-account
+ * operations always acquire stripes in ascending index order, which rules
+ * out lock-order deadlocks between concurrent transfers.
+ */
+public class AccountLocks {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public AccountLocks(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1; // power of two so a stripe is picked with a mask
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public int stripeOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public void lock(String accountNumber) {
+        stripes[stripeOf(accountNumber)].lock();
+    }
+
+    public void unlock(String accountNumber) {
+        stripes[stripeOf(accountNumber)].unlock();
+    }
+
+    // Locks the stripes of two accounts in a stable order; returns the stripes held
+    public int[] lockBoth(String first, String second) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        int[] held = a == b ? new int[] { a } : new int[] { Math.min(a, b), Math.max(a, b) };
+        lockStripes(held);
+        return held;
+    }
+
+    // Locks every stripe covering the given accounts, lowest index first
+    public int[] lockAll(Collection<String> accountNumbers) {
+        int[] held = accountNumbers.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        lockStripes(held);
+        return held;
+    }
+
+    // Stop-the-world lock used for whole-book operations such as snapshots
+    public int[] lockEverything() {
+        int[] held = new int[stripes.length];
+        Arrays.setAll(held, i -> i);
+        lockStripes(held);
+        return held;
+    }
+
+    public void unlockStripes(int[] held) {
+        for (int i = held.length - 1; i >= 0; i--) {
+            stripes[held[i]].unlock();
+        }
+    }
+
+    private void lockStripes(int[] held) {
+        for (int stripe : held) {
+            stripes[stripe].lock();
+        }
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+}
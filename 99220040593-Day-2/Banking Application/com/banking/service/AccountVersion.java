@@ -0,0 +1,61 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+
+/**
+ * Immutable state of one account as of an epoch. History is append-only,
+ * so the first transactionCount entries of the live log are this version's
+ * history; nothing else needs copying.
+ */
+public class AccountVersion {
+    private final String accountNumber;
+    private final String holderName;
+    private final AccountType type;
+    private final double balance;
+    private final boolean active;
+    private final int transactionCount;
+    final long epoch;
+    volatile AccountVersion previous;
+
+    AccountVersion(Account account, long epoch, AccountVersion previous) {
+        this.accountNumber = account.getAccountNumber();
+        this.holderName = account.getHolderName();
+        this.type = account.getType();
+        this.balance = account.getBalance();
+        this.active = account.isActive();
+        this.transactionCount = account.getTransactions().size();
+        this.epoch = epoch;
+        this.previous = previous;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getHolderName() {
+        return holderName;
+    }
+
+    public AccountType getType() {
+        return type;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s | %s | %s | $%.2f | %s",
+                accountNumber, holderName, type.getCode(), balance, active ? "Active" : "Inactive");
+    }
+}
@@ -0,0 +1,119 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import java.util.Collection;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running bank-wide totals, updated by BankServiceImpl on every mutation so
+ * the summary report never has to re-add the whole book. Adders keep
+ * concurrent updates from contending on a single counter.
+ */
+public class BankAggregates {
+    private final DoubleAdder totalBalance = new DoubleAdder();
+    private final LongAdder activeCount = new LongAdder();
+    private final LongAdder inactiveCount = new LongAdder();
+    private final LongAdder[] countByType = new LongAdder[AccountType.values().length];
+    private final DoubleAdder[] balanceByType = new DoubleAdder[AccountType.values().length];
+
+    public BankAggregates(Collection<Account> accounts) {
+        for (int i = 0; i < countByType.length; i++) {
+            countByType[i] = new LongAdder();
+            balanceByType[i] = new DoubleAdder();
+        }
+        for (Account account : accounts) {
+            onAccountOpened(account);
+        }
+    }
+
+    public void onAccountOpened(Account account) {
+        countByType[account.getType().ordinal()].increment();
+        (account.isActive() ? activeCount : inactiveCount).increment();
+        onBalanceChanged(account.getType(), account.getBalance());
+    }
+
+    public void onBalanceChanged(AccountType type, double delta) {
+        if (delta != 0) {
+            totalBalance.add(delta);
+            balanceByType[type.ordinal()].add(delta);
+        }
+    }
+
+    public double getTotalBalance() {
+        return totalBalance.sum();
+    }
+
+    public long getAccountCount() {
+        return activeCount.sum() + inactiveCount.sum();
+    }
+
+    public long getAccountCount(AccountType type) {
+        return countByType[type.ordinal()].sum();
+    }
+
+    public double getBalance(AccountType type) {
+        return balanceByType[type.ordinal()].sum();
+    }
+
+    public long getActiveCount() {
+        return activeCount.sum();
+    }
+
+    public long getInactiveCount() {
+        return inactiveCount.sum();
+    }
+
+    // Frozen copy; consistent only when taken while no writer is in flight
+    public Totals totals() {
+        long[] counts = new long[countByType.length];
+        double[] balances = new double[balanceByType.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = countByType[i].sum();
+            balances[i] = balanceByType[i].sum();
+        }
+        return new Totals(totalBalance.sum(), activeCount.sum(), inactiveCount.sum(), counts, balances);
+    }
+
+    public static class Totals {
+        private final double totalBalance;
+        private final long activeCount;
+        private final long inactiveCount;
+        private final long[] countByType;
+        private final double[] balanceByType;
+
+        Totals(double totalBalance, long activeCount, long inactiveCount, long[] countByType,
+                double[] balanceByType) {
+            this.totalBalance = totalBalance;
+            this.activeCount = activeCount;
+            this.inactiveCount = inactiveCount;
+            this.countByType = countByType;
+            this.balanceByType = balanceByType;
+        }
+
+        public double getTotalBalance() {
+            return totalBalance;
+        }
+
+        public long getAccountCount() {
+            return activeCount + inactiveCount;
+        }
+
+        public long getAccountCount(AccountType type) {
+            return countByType[type.ordinal()];
+        }
+
+        public double getBalance(AccountType type) {
+            return balanceByType[type.ordinal()];
+        }
+
+        public long getActiveCount() {
+            return activeCount;
+        }
+
+        public long getInactiveCount() {
+            return inactiveCount;
+        }
+    }
+}
@@ -4,10 +4,16 @@ import com.banking.model.Account;
 import com.banking.model.AccountType;
 import com.banking.model.Transaction;
 import com.banking.exception.AccountNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BankService {
-    void createAccount(String holderName, String aadhaar, AccountType type, double initialDeposit,
+    Account createAccount(String holderName, String aadhaar, AccountType type, double initialDeposit,
             Double... extraParams);
 
     void deposit(String accountNumber, double amount, String description) throws AccountNotFoundException;
@@ -16,15 +22,39 @@ public interface BankService {
 
     void transfer(String fromAccount, String toAccount, double amount, String description) throws Exception;
 
+    List<TransferResult> transferBatch(List<TransferInstruction> instructions);
+
     void calculateInterest();
 
+    int processMaturities();
+
+    Optional<LocalDateTime> getNextMaturityDate();
+
     String generateSummaryReport();
 
+    // Streams the same report row by row instead of building it in memory
+    void writeSummaryReport(Writer out) throws IOException;
+
+    // One statement file per active account for the given day, under outputDir/<date>/; resumes a partial run
+    StatementRunReport generateStatements(LocalDate date, Path outputDir) throws IOException;
+
+    // Consistent point-in-time view for reports, exports and audits; close when done
+    BookView openView();
+
     List<Transaction> getLastTransactions(String accountNumber, int n) throws AccountNotFoundException;
 
+    // Transactions with from <= timestamp < to, oldest first
+    List<Transaction> getStatement(String accountNumber, LocalDateTime from, LocalDateTime to)
+            throws AccountNotFoundException;
+
     Account findAccount(String accountNumber) throws AccountNotFoundException;
 
     void saveData();
 
     List<Account> getAllAccounts();
+
+    List<Account> getAccountsByAadhaar(String aadhaar);
+
+    // Holder-name matches: word-prefix matches first, then names containing the text elsewhere
+    List<Account> searchByHolderName(String query, int limit);
 }
@@ -1,29 +1,76 @@
 package com.banking.service;
 
+import com.banking.repository.AccountNumberAllocator;
 import com.banking.repository.AccountRepository;
 import com.banking.model.*;
 import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.TransactionRejectedException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class BankServiceImpl implements BankService {
+    private static final int DEFAULT_LOCK_STRIPES = 256;
+
     private AccountRepository accountRepository;
     private String bankName;
     private String ifscCode;
+    private AccountLocks locks;
+    private InterestEngine interestEngine;
+    private StatementGenerator statementGenerator;
+    private MaturityScheduler maturityScheduler;
+    private BankAggregates aggregates;
+    private BookViews views;
+    private AccountNumberAllocator numberAllocator;
 
     public BankServiceImpl(AccountRepository accountRepository, String bankName, String ifscCode) {
+        this(accountRepository, bankName, ifscCode, DEFAULT_LOCK_STRIPES);
+    }
+
+    // lockStripes: number of striped account locks shared by concurrent callers
+    public BankServiceImpl(AccountRepository accountRepository, String bankName, String ifscCode,
+            int lockStripes) {
+        this(accountRepository, bankName, ifscCode, lockStripes, accountRepository.getAccountNumberAllocator());
+    }
+
+    // numberAllocator: source of new account numbers, by default the repository's own
+    public BankServiceImpl(AccountRepository accountRepository, String bankName, String ifscCode,
+            int lockStripes, AccountNumberAllocator numberAllocator) {
+        this.numberAllocator = numberAllocator;
         this.accountRepository = accountRepository;
         this.bankName = bankName;
         this.ifscCode = ifscCode;
+        this.locks = new AccountLocks(lockStripes);
+        this.aggregates = new BankAggregates(accountRepository.getAllAccounts());
+        this.views = new BookViews(accountRepository, locks, aggregates);
+        this.interestEngine = new InterestEngine(accountRepository, locks, aggregates, views);
+        this.statementGenerator = new StatementGenerator(accountRepository, locks, bankName, ifscCode);
+        this.maturityScheduler = new MaturityScheduler(accountRepository.findByType(AccountType.FIXED_DEPOSIT)
+                .stream().map(FixedDepositAccount.class::cast).collect(Collectors.toList()));
     }
 
     // Factory Method to generate Account Number
     private String generateAccountNumber(AccountType type) {
-        return type.getCode() + System.currentTimeMillis() % 1000000;
+        return numberAllocator.nextAccountNumber(type);
     }
 
     @Override
-    public void createAccount(String holderName, String aadhaar, AccountType type,
+    public Account createAccount(String holderName, String aadhaar, AccountType type,
             double initialDeposit, Double... extraParams) {
         String accNum = generateAccountNumber(type);
         Account account;
@@ -39,22 +86,56 @@ public class BankServiceImpl implements BankService {
                         extraParams[0].intValue(), extraParams[1]);
                 break;
             default:
-                return;
+                return null;
         }
-        accountRepository.addAccount(account);
-        System.out.println("✅ Account created: " + account);
+        long ticket;
+        locks.lock(accNum);
+        try {
+            ticket = accountRepository.addAccount(account);
+            aggregates.onAccountOpened(account);
+            views.publish(account);
+        } finally {
+            locks.unlock(accNum);
+        }
+        accountRepository.awaitDurable(ticket);
+        if (account instanceof FixedDepositAccount fd) {
+            maturityScheduler.schedule(fd);
+        }
+        return account;
     }
 
     @Override
     public void deposit(String accountNumber, double amount, String description) throws AccountNotFoundException {
         Account acc = accountRepository.findAccount(accountNumber);
-        acc.deposit(amount, description);
+        long ticket;
+        locks.lock(accountNumber);
+        try {
+            int mark = acc.getTransactions().size();
+            double before = acc.getBalance();
+            acc.deposit(amount, description);
+            ticket = journalSince(acc, mark, before);
+        } finally {
+            locks.unlock(accountNumber);
+        }
+        accountRepository.awaitDurable(ticket); // outside the lock, so others can join the batch
+        compactIfDue();
     }
 
     @Override
     public void withdraw(String accountNumber, double amount, String description) throws Exception {
         Account acc = accountRepository.findAccount(accountNumber);
-        acc.withdraw(amount, description);
+        long ticket;
+        locks.lock(accountNumber);
+        try {
+            int mark = acc.getTransactions().size();
+            double before = acc.getBalance();
+            acc.withdraw(amount, description);
+            ticket = journalSince(acc, mark, before);
+        } finally {
+            locks.unlock(accountNumber);
+        }
+        accountRepository.awaitDurable(ticket);
+        compactIfDue();
     }
 
     @Override
@@ -62,40 +143,298 @@ public class BankServiceImpl implements BankService {
         Account from = accountRepository.findAccount(fromAccount);
         Account to = accountRepository.findAccount(toAccount);
 
-        if (from.withdraw(amount, description + " to " + to.getAccountNumber())) {
-            to.deposit(amount, description + " from " + from.getAccountNumber());
+        // Both legs happen under both locks, taken in stripe order
+        long fromTicket;
+        long toTicket;
+        int[] held = locks.lockBoth(fromAccount, toAccount);
+        try {
+            int fromMark = from.getTransactions().size();
+            int toMark = to.getTransactions().size();
+            double fromBefore = from.getBalance();
+            double toBefore = to.getBalance();
+            // Checked under the locks: a leg refused here must not leave the other one posted
+            if (!(amount > 0)) {
+                throw new TransactionRejectedException("Amount must be positive");
+            }
+            if (!to.isActive()) {
+                throw new TransactionRejectedException("Account " + to.getAccountNumber() + " is inactive");
+            }
+            if (!from.withdraw(amount, description, to.getAccountNumber())) {
+                throw new TransactionRejectedException("Account " + from.getAccountNumber() + " is inactive");
+            }
+            to.deposit(amount, description, from.getAccountNumber());
+            fromTicket = journalSince(from, fromMark, fromBefore);
+            toTicket = journalSince(to, toMark, toBefore);
+        } finally {
+            locks.unlockStripes(held);
+        }
+        // The legs may sit in different journals, so each is awaited
+        accountRepository.awaitDurable(fromTicket);
+        accountRepository.awaitDurable(toTicket);
+        compactIfDue();
+    }
+
+    @Override
+    public List<TransferResult> transferBatch(List<TransferInstruction> instructions) {
+        TransferResult[] results = new TransferResult[instructions.size()];
+        Map<String, Account> involved = new HashMap<>();
+
+        // Pass 1: reject malformed instructions and unknown accounts up front
+        for (int i = 0; i < instructions.size(); i++) {
+            TransferInstruction ins = instructions.get(i);
+            String problem = validate(ins, involved);
+            if (problem != null) {
+                results[i] = TransferResult.rejected(ins, problem);
+            }
+        }
+
+        Map<Account, Double> projected = new HashMap<>();
+        Map<Account, List<Transaction>> entries = new LinkedHashMap<>();
+        long ticket;
+        int[] held = locks.lockAll(involved.keySet());
+        try {
+            // Pass 2: check funds against running projected balances, in instruction order
+            for (int i = 0; i < instructions.size(); i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                TransferInstruction ins = instructions.get(i);
+                Account from = involved.get(ins.getFromAccount());
+                Account to = involved.get(ins.getToAccount());
+                double fromBalance = projected.computeIfAbsent(from, Account::getBalance) - ins.getAmount();
+                if (!from.isWithdrawalAllowed(fromBalance)) {
+                    results[i] = TransferResult.rejected(ins, "Insufficient funds in " + from.getAccountNumber());
+                    continue;
+                }
+                double toBalance = projected.computeIfAbsent(to, Account::getBalance) + ins.getAmount();
+                projected.put(from, fromBalance);
+                projected.put(to, toBalance);
+                entries.computeIfAbsent(from, k -> new ArrayList<>()).add(new Transaction(TransactionType.WITHDRAWAL,
+                        ins.getAmount(), fromBalance, ins.getDescription(), to.getAccountNumber()));
+                entries.computeIfAbsent(to, k -> new ArrayList<>()).add(new Transaction(TransactionType.DEPOSIT,
+                        ins.getAmount(), toBalance, ins.getDescription(), from.getAccountNumber()));
+                results[i] = TransferResult.completed(ins);
+            }
+
+            // Pass 3: one net balance update per account
+            List<Map.Entry<Account, Transaction>> journal = new ArrayList<>();
+            for (Map.Entry<Account, List<Transaction>> posting : entries.entrySet()) {
+                Account acc = posting.getKey();
+                double netChange = projected.get(acc) - acc.getBalance();
+                acc.postBatch(netChange, posting.getValue());
+                aggregates.onBalanceChanged(acc.getType(), netChange);
+                views.publish(acc);
+                for (Transaction txn : posting.getValue()) {
+                    journal.add(Map.entry(acc, txn));
+                }
+            }
+            ticket = accountRepository.recordTransactions(journal);
+        } finally {
+            locks.unlockStripes(held);
+        }
+        accountRepository.awaitDurable(ticket);
+        compactIfDue();
+        return Arrays.asList(results);
+    }
+
+    // Returns a rejection reason, or null when the instruction can be attempted
+    private String validate(TransferInstruction ins, Map<String, Account> involved) {
+        if (!(ins.getAmount() > 0)) {
+            return "Amount must be positive";
+        }
+        if (ins.getFromAccount().equals(ins.getToAccount())) {
+            return "Source and destination are the same account";
+        }
+        try {
+            Account from = involved.get(ins.getFromAccount());
+            if (from == null) {
+                from = accountRepository.findAccount(ins.getFromAccount());
+            }
+            Account to = involved.get(ins.getToAccount());
+            if (to == null) {
+                to = accountRepository.findAccount(ins.getToAccount());
+            }
+            if (!to.isActive()) {
+                return "Account " + to.getAccountNumber() + " is inactive";
+            }
+            involved.put(from.getAccountNumber(), from);
+            involved.put(to.getAccountNumber(), to);
+            return null;
+        } catch (AccountNotFoundException e) {
+            return e.getMessage();
         }
     }
 
     @Override
     public void calculateInterest() {
-        for (Account acc : accountRepository.getAllAccounts()) {
-            acc.calculateInterest();
+        InterestRunReport report = calculateInterest(null);
+        System.out.println("💹 Interest applied: " + report);
+        int matured = processMaturities();
+        if (matured > 0) {
+            System.out.println("📅 FD maturities processed: " + matured);
+        }
+    }
+
+    public InterestRunReport calculateInterest(InterestEngine.ProgressListener listener) {
+        InterestRunReport report = interestEngine.run(listener);
+        compactIfDue();
+        return report;
+    }
+
+    @Override
+    public int processMaturities() {
+        List<FixedDepositAccount> due = maturityScheduler.pollDue(LocalDateTime.now());
+        long[] tickets = new long[due.size()];
+        int credited = 0;
+        for (int i = 0; i < due.size(); i++) {
+            FixedDepositAccount fd = due.get(i);
+            locks.lock(fd.getAccountNumber());
+            try {
+                int mark = fd.getTransactions().size();
+                double before = fd.getBalance();
+                fd.calculateInterest();
+                tickets[i] = journalSince(fd, mark, before);
+                if (fd.isMaturityProcessed()) {
+                    credited++;
+                } else {
+                    maturityScheduler.schedule(fd); // deactivated since it was polled; try again next run
+                }
+            } finally {
+                locks.unlock(fd.getAccountNumber());
+            }
+        }
+        for (long ticket : tickets) {
+            accountRepository.awaitDurable(ticket);
+        }
+        compactIfDue();
+        return credited;
+    }
+
+    @Override
+    public Optional<LocalDateTime> getNextMaturityDate() {
+        return maturityScheduler.nextMaturity();
+    }
+
+    // Helper to hand transactions appended after 'mark' to the repository journal,
+    // roll the resulting balance change into the running aggregates and publish
+    // the account's new version to read views.
+    // Returns the journal ticket of the last record written.
+    private long journalSince(Account acc, int mark, double balanceBefore) {
+        List<Transaction> history = acc.getTransactions();
+        long ticket = 0;
+        for (int i = mark; i < history.size(); i++) {
+            ticket = accountRepository.recordTransaction(acc, history.get(i));
+        }
+        aggregates.onBalanceChanged(acc.getType(), acc.getBalance() - balanceBefore);
+        views.publish(acc);
+        return ticket;
+    }
+
+    // Compaction rewrites only the partitions (shards) that are due, each under its own accounts' stripes
+    private void compactIfDue() {
+        if (!accountRepository.isCompactionDue()) {
+            return;
+        }
+        for (int partition = 0; partition < accountRepository.getPartitionCount(); partition++) {
+            if (accountRepository.isCompactionDue(partition)) {
+                compactPartition(partition);
+            }
+        }
+    }
+
+    // Retries when an account is opened in the partition between listing and locking it
+    private void compactPartition(int partition) {
+        boolean done = false;
+        while (!done) {
+            List<String> numbers = accountRepository.getPartitionAccounts(partition).stream()
+                    .map(Account::getAccountNumber)
+                    .toList();
+            int[] held = locks.lockAll(numbers);
+            try {
+                done = !accountRepository.isCompactionDue(partition)
+                        || accountRepository.compactPartition(partition, numbers.size());
+            } catch (UncheckedIOException e) {
+                // The operation that triggered compaction is already journaled; retry on a later one
+                System.err.println("❌ Compaction failed, journal kept: " + e.getMessage());
+                done = true;
+            } finally {
+                locks.unlockStripes(held);
+            }
         }
     }
 
     @Override
     public String generateSummaryReport() {
-        StringBuilder report = new StringBuilder();
-        report.append("\n🏦 ").append(bankName).append(" - IFSC: ").append(ifscCode).append("\n");
-        List<Account> accounts = accountRepository.getAllAccounts();
-        report.append("Total Accounts: ").append(accounts.size()).append("\n");
-        report.append("Total Balance: ₹").append(
-                accounts.stream().mapToDouble(Account::getBalance).sum()).append("\n\n");
-
-        accounts.forEach(acc -> {
-            report.append(acc).append("\n");
-        });
+        StringWriter report = new StringWriter();
+        try {
+            writeSummaryReport(report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter never throws
+        }
         return report.toString();
     }
 
+    @Override
+    public void writeSummaryReport(Writer out) throws IOException {
+        // Header and rows come from one read view, so they agree even while writers run
+        try (BookView view = openView()) {
+            BankAggregates.Totals totals = view.getTotals();
+            BufferedWriter report = out instanceof BufferedWriter buffered ? buffered : new BufferedWriter(out);
+            report.write("\n🏦 " + bankName + " - IFSC: " + ifscCode + "\n");
+            report.write("Total Accounts: " + totals.getAccountCount()
+                    + " (Active: " + totals.getActiveCount() + ", Inactive: " + totals.getInactiveCount() + ")\n");
+            report.write("Total Balance: ₹" + totals.getTotalBalance() + "\n");
+            for (AccountType type : AccountType.values()) {
+                report.write("  " + type + ": " + totals.getAccountCount(type)
+                        + " accounts, ₹" + totals.getBalance(type) + "\n");
+            }
+            report.write("\n");
+
+            for (AccountVersion acc : view.getAccounts()) {
+                report.write(acc.toString());
+                report.write("\n");
+            }
+            report.flush();
+        }
+    }
+
+    @Override
+    public StatementRunReport generateStatements(LocalDate date, Path outputDir) throws IOException {
+        return generateStatements(date, outputDir, null);
+    }
+
+    public StatementRunReport generateStatements(LocalDate date, Path outputDir,
+            InterestEngine.ProgressListener listener) throws IOException {
+        return statementGenerator.run(date, outputDir, listener);
+    }
+
+    @Override
+    public BookView openView() {
+        return views.open();
+    }
+
     @Override
     public List<Transaction> getLastTransactions(String accountNumber, int n) throws AccountNotFoundException {
         Account acc = accountRepository.findAccount(accountNumber);
-        return acc.getTransactions().stream()
-                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
-                .limit(n)
-                .collect(Collectors.toList());
+        locks.lock(accountNumber);
+        try {
+            // History is append-ordered, so the newest entries are simply the tail
+            return acc.getTransactionLog().latest(n);
+        } finally {
+            locks.unlock(accountNumber);
+        }
+    }
+
+    @Override
+    public List<Transaction> getStatement(String accountNumber, LocalDateTime from, LocalDateTime to)
+            throws AccountNotFoundException {
+        Account acc = accountRepository.findAccount(accountNumber);
+        locks.lock(accountNumber);
+        try {
+            return acc.getTransactionLog().between(TransactionLog.toMillis(from), TransactionLog.toMillis(to));
+        } finally {
+            locks.unlock(accountNumber);
+        }
     }
 
     @Override
@@ -105,11 +444,39 @@ public class BankServiceImpl implements BankService {
 
     @Override
     public void saveData() {
-        accountRepository.saveAll(accountRepository.getAllAccounts());
+        int[] held = locks.lockEverything();
+        try {
+            accountRepository.saveAll(accountRepository.getAllAccounts());
+        } finally {
+            locks.unlockStripes(held);
+        }
     }
 
     @Override
     public List<Account> getAllAccounts() {
         return accountRepository.getAllAccounts();
     }
+
+    @Override
+    public List<Account> getAccountsByAadhaar(String aadhaar) {
+        return accountRepository.findByAadhaar(aadhaar);
+    }
+
+    @Override
+    public List<Account> searchByHolderName(String query, int limit) {
+        List<Account> matches = new ArrayList<>(accountRepository.findByHolderPrefix(query, limit));
+        if (matches.size() < limit) {
+            Set<Account> seen = new HashSet<>(matches);
+            // Prefix matches contain the text too, so ask for enough to skip past them
+            for (Account account : accountRepository.findByHolderSubstring(query, limit + matches.size())) {
+                if (matches.size() == limit) {
+                    break;
+                }
+                if (seen.add(account)) {
+                    matches.add(account);
+                }
+            }
+        }
+        return matches;
+    }
 }
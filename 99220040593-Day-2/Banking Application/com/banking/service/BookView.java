@@ -0,0 +1,98 @@
+package com.banking.service;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionLog;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Point-in-time, read-only view of the book. Balances, counts and totals
+ * all reflect the same instant, however long the reader takes and whatever
+ * writers do meanwhile. Opening a view copies no account state; close it
+ * when done so superseded versions can be dropped.
+ */
+public class BookView implements AutoCloseable {
+    private final BookViews views;
+    private final long epoch;
+    private final BankAggregates.Totals totals;
+    private final List<Account> accounts;
+    private boolean closed;
+
+    BookView(BookViews views, long epoch, BankAggregates.Totals totals, List<Account> accounts) {
+        this.views = views;
+        this.epoch = epoch;
+        this.totals = totals;
+        this.accounts = accounts;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public BankAggregates.Totals getTotals() {
+        return totals;
+    }
+
+    // Accounts as of this view, in book order
+    public List<AccountVersion> getAccounts() {
+        List<AccountVersion> result = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            AccountVersion version = views.resolve(account.getAccountNumber(), epoch);
+            if (version != null) {
+                result.add(version);
+            }
+        }
+        return result;
+    }
+
+    public AccountVersion findAccount(String accountNumber) throws AccountNotFoundException {
+        AccountVersion version = views.resolve(accountNumber, epoch);
+        if (version == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return version;
+    }
+
+    // The account's history as of this view, oldest first
+    public List<Transaction> getTransactions(String accountNumber) throws AccountNotFoundException {
+        return getStatement(accountNumber, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    // Transactions with from <= timestamp < to as of this view, oldest first
+    public List<Transaction> getStatement(String accountNumber, LocalDateTime from, LocalDateTime to)
+            throws AccountNotFoundException {
+        return getStatement(accountNumber, TransactionLog.toMillis(from), TransactionLog.toMillis(to));
+    }
+
+    private List<Transaction> getStatement(String accountNumber, long fromMillis, long toMillis)
+            throws AccountNotFoundException {
+        int count = findAccount(accountNumber).getTransactionCount();
+        Account account = views.getAccountRepository().findAccount(accountNumber);
+        AccountLocks locks = views.getLocks();
+        // The stripe is held only to read the stable prefix of the log
+        locks.lock(accountNumber);
+        try {
+            TransactionLog log = account.getTransactionLog();
+            int start = Math.min(log.lowerBound(fromMillis), count);
+            int end = Math.min(log.lowerBound(toMillis), count);
+            List<Transaction> result = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                result.add(log.get(i));
+            }
+            return result;
+        } finally {
+            locks.unlock(accountNumber);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            views.close(epoch);
+        }
+    }
+}
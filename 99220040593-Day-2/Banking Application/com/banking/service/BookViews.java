@@ -0,0 +1,101 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.repository.AccountRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Epoch-based multi-versioning behind BookView. Writers publish a new
+ * AccountVersion stamped with the current epoch while they still hold the
+ * account's stripe. Opening a view briefly takes every stripe, reads the
+ * current epoch and advances it, so every operation is either wholly before
+ * the view or wholly after it. A view resolves each account to its newest
+ * version no later than its epoch. Older versions stay reachable only while
+ * an open view may need them.
+ */
+public class BookViews {
+    private final AccountRepository accountRepository;
+    private final AccountLocks locks;
+    private final BankAggregates aggregates;
+    private final Map<String, AccountVersion> heads = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Integer> openEpochs = new ConcurrentSkipListMap<>();
+    private volatile long epoch = 1;
+
+    public BookViews(AccountRepository accountRepository, AccountLocks locks, BankAggregates aggregates) {
+        this.accountRepository = accountRepository;
+        this.locks = locks;
+        this.aggregates = aggregates;
+        for (Account account : accountRepository.getAllAccounts()) {
+            publish(account);
+        }
+    }
+
+    // Called by writers holding the account's stripe, after the account has changed
+    public void publish(Account account) {
+        long current = epoch;
+        AccountVersion head = heads.get(account.getAccountNumber());
+        AccountVersion previous;
+        if (head == null) {
+            previous = null;
+        } else if (head.epoch == current) {
+            previous = head.previous; // no view can see head: it was superseded within the same epoch
+        } else {
+            previous = head;
+        }
+        heads.put(account.getAccountNumber(), new AccountVersion(account, current, prune(previous)));
+    }
+
+    // Cuts the chain below the newest version the oldest open view can see
+    private AccountVersion prune(AccountVersion chain) {
+        Long oldest = openEpochs.isEmpty() ? null : openEpochs.firstKey();
+        if (oldest == null) {
+            return null;
+        }
+        AccountVersion v = chain;
+        while (v != null && v.epoch > oldest) {
+            v = v.previous;
+        }
+        if (v != null) {
+            v.previous = null;
+        }
+        return chain;
+    }
+
+    public BookView open() {
+        long viewEpoch;
+        BankAggregates.Totals totals;
+        int[] held = locks.lockEverything();
+        try {
+            viewEpoch = epoch;
+            epoch = viewEpoch + 1;
+            openEpochs.merge(viewEpoch, 1, Integer::sum);
+            totals = aggregates.totals(); // consistent: no writer is in flight
+        } finally {
+            locks.unlockStripes(held);
+        }
+        // Accounts opened after this point are filtered out by their version epoch
+        return new BookView(this, viewEpoch, totals, accountRepository.getAllAccounts());
+    }
+
+    void close(long viewEpoch) {
+        openEpochs.computeIfPresent(viewEpoch, (e, count) -> count == 1 ? null : count - 1);
+    }
+
+    AccountVersion resolve(String accountNumber, long viewEpoch) {
+        AccountVersion v = heads.get(accountNumber);
+        while (v != null && v.epoch > viewEpoch) {
+            v = v.previous;
+        }
+        return v;
+    }
+
+    AccountLocks getLocks() {
+        return locks;
+    }
+
+    AccountRepository getAccountRepository() {
+        return accountRepository;
+    }
+}
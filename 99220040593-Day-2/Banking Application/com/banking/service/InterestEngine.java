@@ -0,0 +1,167 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Transaction;
+import com.banking.repository.AccountRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Posts interest across the whole book with fork/join. The account list is
+ * split into partitions; each partition applies interest under the account
+ * locks, journalling every posting before the account's stripe is released
+ * so replay sees the same order as memory, and then waits once for the
+ * partition's postings to become durable. That wait goes through a
+ * ManagedBlocker, so the fork/join pool can add a worker meanwhile.
+ * Fixed deposits are skipped: MaturityScheduler handles them when due.
+ */
+public class InterestEngine {
+    private static final int DEFAULT_PARTITION_SIZE = 4096;
+
+    public interface ProgressListener {
+        void onProgress(long processed, long total);
+    }
+
+    private final AccountRepository accountRepository;
+    private final AccountLocks locks;
+    private final BankAggregates aggregates;
+    private final BookViews views;
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+
+    public InterestEngine(AccountRepository accountRepository, AccountLocks locks, BankAggregates aggregates,
+            BookViews views) {
+        this(accountRepository, locks, aggregates, views, ForkJoinPool.commonPool(), DEFAULT_PARTITION_SIZE);
+    }
+
+    public InterestEngine(AccountRepository accountRepository, AccountLocks locks, BankAggregates aggregates,
+            BookViews views, ForkJoinPool pool, int partitionSize) {
+        this.accountRepository = accountRepository;
+        this.locks = locks;
+        this.aggregates = aggregates;
+        this.views = views;
+        this.pool = pool;
+        this.partitionSize = partitionSize;
+    }
+
+    public InterestRunReport run(ProgressListener listener) {
+        long start = System.nanoTime();
+        List<Account> accounts = new ArrayList<>();
+        for (AccountType type : AccountType.values()) {
+            if (type != AccountType.FIXED_DEPOSIT) {
+                accounts.addAll(accountRepository.findByType(type));
+            }
+        }
+        RunState state = new RunState(accounts.size(), listener);
+        pool.invoke(new PartitionTask(accounts, 0, accounts.size(), state));
+        return new InterestRunReport(accounts.size(), state.postings.sum(), state.totalInterest.sum(),
+                System.nanoTime() - start);
+    }
+
+    private static class RunState {
+        final long total;
+        final ProgressListener listener;
+        final AtomicLong processed = new AtomicLong();
+        final LongAdder postings = new LongAdder();
+        final DoubleAdder totalInterest = new DoubleAdder();
+
+        RunState(long total, ProgressListener listener) {
+            this.total = total;
+            this.listener = listener;
+        }
+    }
+
+    // Serializable only through RecursiveAction; tasks never leave the pool
+    @SuppressWarnings("serial")
+    private class PartitionTask extends RecursiveAction {
+        private final List<Account> accounts;
+        private final int from;
+        private final int to;
+        private final RunState state;
+
+        PartitionTask(List<Account> accounts, int from, int to, RunState state) {
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+            this.state = state;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > partitionSize) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PartitionTask(accounts, from, mid, state),
+                        new PartitionTask(accounts, mid, to, state));
+                return;
+            }
+            List<Map.Entry<Account, Transaction>> posted = new ArrayList<>();
+            long[] tickets = new long[to - from];
+            int ticketCount = 0;
+            int postings = 0;
+            for (int i = from; i < to; i++) {
+                Account acc = accounts.get(i);
+                locks.lock(acc.getAccountNumber());
+                try {
+                    List<Transaction> history = acc.getTransactions();
+                    int mark = history.size();
+                    double before = acc.getBalance();
+                    acc.calculateInterest();
+                    aggregates.onBalanceChanged(acc.getType(), acc.getBalance() - before);
+                    if (history.size() > mark) {
+                        views.publish(acc);
+                    }
+                    for (int t = mark; t < history.size(); t++) {
+                        posted.add(Map.entry(acc, history.get(t)));
+                        state.totalInterest.add(history.get(t).getAmount());
+                    }
+                    if (!posted.isEmpty()) {
+                        // Still under the stripe: a later deposit cannot reach the journal first
+                        tickets[ticketCount++] = accountRepository.recordTransactions(posted);
+                        postings += posted.size();
+                        posted.clear();
+                    }
+                } finally {
+                    locks.unlock(acc.getAccountNumber());
+                }
+            }
+            awaitDurable(tickets, ticketCount);
+            state.postings.add(postings);
+            long done = state.processed.addAndGet(to - from);
+            if (state.listener != null) {
+                state.listener.onProgress(done, state.total);
+            }
+        }
+
+        // Tickets may belong to different shard journals, so each is awaited; most return at once
+        private void awaitDurable(long[] tickets, int count) {
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    private int next;
+
+                    @Override
+                    public boolean block() {
+                        while (next < count) {
+                            accountRepository.awaitDurable(tickets[next++]);
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return next >= count;
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for interest postings to sync", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.banking.service;
+
+public class InterestRunReport {
+    private final long accountsProcessed;
+    private final long postings;
+    private final double totalInterest;
+    private final long elapsedNanos;
+
+    public InterestRunReport(long accountsProcessed, long postings, double totalInterest, long elapsedNanos) {
+        this.accountsProcessed = accountsProcessed;
+        this.postings = postings;
+        this.totalInterest = totalInterest;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getAccountsProcessed() {
+        return accountsProcessed;
+    }
+
+    public long getPostings() {
+        return postings;
+    }
+
+    public double getTotalInterest() {
+        return totalInterest;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getAccountsPerSecond() {
+        return elapsedNanos == 0 ? 0 : accountsProcessed * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d accounts, %d postings, ₹%.2f interest in %d ms (%.0f accounts/s)",
+                accountsProcessed, postings, totalInterest, getElapsedMillis(), getAccountsPerSecond());
+    }
+}
@@ -0,0 +1,57 @@
+package com.banking.service;
+
+import com.banking.model.FixedDepositAccount;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Min-heap of fixed deposits ordered by maturity date. A maturity run pops
+ * only the FDs that are due instead of checking every FD in the book.
+ */
+public class MaturityScheduler {
+    private final PriorityQueue<FixedDepositAccount> queue =
+            new PriorityQueue<>(Comparator.comparing(FixedDepositAccount::getMaturityDate));
+
+    public MaturityScheduler(Collection<FixedDepositAccount> deposits) {
+        for (FixedDepositAccount fd : deposits) {
+            schedule(fd);
+        }
+    }
+
+    public synchronized void schedule(FixedDepositAccount fd) {
+        if (!fd.isMaturityProcessed()) {
+            queue.add(fd);
+        }
+    }
+
+    // Removes and returns the FDs that are due at 'now'. Past-date FDs that cannot be
+    // credited yet (inactive) stay queued for a later run; already credited ones are dropped.
+    public synchronized List<FixedDepositAccount> pollDue(LocalDateTime now) {
+        List<FixedDepositAccount> due = new ArrayList<>();
+        List<FixedDepositAccount> waiting = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().getMaturityDate().isBefore(now)) {
+            FixedDepositAccount fd = queue.poll();
+            if (fd.isMaturityDue(now)) {
+                due.add(fd);
+            } else if (!fd.isMaturityProcessed()) {
+                waiting.add(fd);
+            }
+        }
+        queue.addAll(waiting);
+        return due;
+    }
+
+    public synchronized Optional<LocalDateTime> nextMaturity() {
+        FixedDepositAccount next = queue.peek();
+        return next == null ? Optional.empty() : Optional.of(next.getMaturityDate());
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,297 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.model.Transaction;
+import com.banking.model.TransactionLog;
+import com.banking.repository.AccountRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes one end-of-day statement file per active account, to
+ * <outputDir>/<yyyy-MM-dd>/<accountNumber>.txt. A fixed pool of workers
+ * takes partitions of the account list off a shared cursor; each worker
+ * renders into its own reused StringBuilder and encodes through its own
+ * direct ByteBuffer into a FileChannel. History is read column by column,
+ * so no Transaction objects or formatted strings are created per line.
+ *
+ * Each file is written as .tmp, forced to disk and renamed into place, so
+ * a final name always holds a complete statement, even after a crash. Running again for the same date skips
+ * those and redoes the rest, which is how an interrupted or partly failed
+ * run is resumed.
+ */
+public class StatementGenerator {
+    private static final int DEFAULT_PARTITION_SIZE = 256;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FAILED_SAMPLE_SIZE = 20;
+    private static final String SUFFIX = ".txt";
+    private static final String CURRENCY = "₹";
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final AccountRepository accountRepository;
+    private final AccountLocks locks;
+    private final String bankName;
+    private final String ifscCode;
+    private final int workers;
+    private final int partitionSize;
+
+    public StatementGenerator(AccountRepository accountRepository, AccountLocks locks, String bankName,
+            String ifscCode) {
+        this(accountRepository, locks, bankName, ifscCode, Math.max(2, Runtime.getRuntime().availableProcessors()),
+                DEFAULT_PARTITION_SIZE);
+    }
+
+    // workers: size of the rendering pool; partitionSize: accounts a worker takes at a time
+    public StatementGenerator(AccountRepository accountRepository, AccountLocks locks, String bankName,
+            String ifscCode, int workers, int partitionSize) {
+        this.accountRepository = accountRepository;
+        this.locks = locks;
+        this.bankName = bankName;
+        this.ifscCode = ifscCode;
+        this.workers = workers;
+        this.partitionSize = partitionSize;
+    }
+
+    public StatementRunReport run(LocalDate date, Path outputDir, InterestEngine.ProgressListener listener)
+            throws IOException {
+        long start = System.nanoTime();
+        Path dayDir = outputDir.resolve(date.toString());
+        Files.createDirectories(dayDir);
+        Set<String> done = finishedStatements(dayDir);
+        List<Account> accounts = accountRepository.getAllAccounts();
+        RunState state = new RunState(date, dayDir, done, accounts, listener);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "statement-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> running = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                running.add(pool.submit(() -> work(state)));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Statement run interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException("Statement worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        List<String> failedSample;
+        synchronized (state.failedSample) {
+            failedSample = List.copyOf(state.failedSample);
+        }
+        return new StatementRunReport(date, dayDir, state.written.sum(), state.skipped.sum(), state.failed.sum(),
+                failedSample, state.transactions.sum(), state.bytes.sum(), System.nanoTime() - start);
+    }
+
+    // One directory listing instead of a stat per account when resuming
+    private static Set<String> finishedStatements(Path dayDir) throws IOException {
+        Set<String> done = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dayDir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                done.add(name.substring(0, name.length() - SUFFIX.length()));
+            }
+        }
+        return done;
+    }
+
+    private void work(RunState state) {
+        Renderer renderer = new Renderer();
+        int total = state.accounts.size();
+        int from;
+        while ((from = state.cursor.getAndAdd(partitionSize)) < total) {
+            int to = Math.min(total, from + partitionSize);
+            for (int i = from; i < to; i++) {
+                Account acc = state.accounts.get(i);
+                if (!acc.isActive()) {
+                    continue;
+                }
+                if (state.done.contains(acc.getAccountNumber())) {
+                    state.skipped.increment();
+                    continue;
+                }
+                renderer.write(acc, state);
+            }
+            long processed = state.processed.addAndGet(to - from);
+            if (state.listener != null) {
+                state.listener.onProgress(processed, total);
+            }
+        }
+    }
+
+    private static class RunState {
+        final long dayStart;
+        final LocalDate date;
+        final Path dayDir;
+        final Set<String> done;
+        final List<Account> accounts;
+        final InterestEngine.ProgressListener listener;
+        final AtomicInteger cursor = new AtomicInteger();
+        final AtomicLong processed = new AtomicLong();
+        final LongAdder written = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder transactions = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final List<String> failedSample = new ArrayList<>();
+
+        RunState(LocalDate date, Path dayDir, Set<String> done, List<Account> accounts,
+                InterestEngine.ProgressListener listener) {
+            this.dayStart = TransactionLog.toMillis(date.atStartOfDay());
+            this.date = date;
+            this.dayDir = dayDir;
+            this.done = done;
+            this.accounts = accounts;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Per-worker buffers. The statement text is built under the account's
+     * lock, which keeps it consistent with concurrent postings and with
+     * history being archived by a save; encoding and I/O happen after the
+     * lock is released.
+     */
+    private class Renderer {
+        private final StringBuilder text = new StringBuilder(4096);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        void write(Account acc, RunState state) {
+            String accountNumber = acc.getAccountNumber();
+            int entries;
+            locks.lock(accountNumber);
+            try {
+                entries = render(acc, state);
+            } finally {
+                locks.unlock(accountNumber);
+            }
+            if (entries < 0) {
+                return;
+            }
+            Path target = state.dayDir.resolve(accountNumber + SUFFIX);
+            Path temp = state.dayDir.resolve(accountNumber + SUFFIX + ".tmp");
+            try {
+                long size;
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    size = encodeTo(channel);
+                    channel.force(true); // the rename must not reach the disk before the contents
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                state.written.increment();
+                state.transactions.add(entries);
+                state.bytes.add(size);
+            } catch (IOException e) {
+                state.failed.increment();
+                synchronized (state.failedSample) {
+                    if (state.failedSample.size() < FAILED_SAMPLE_SIZE) {
+                        state.failedSample.add(accountNumber);
+                    }
+                }
+                System.err.println("❌ Statement for " + accountNumber + " failed: " + e.getMessage());
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // a leftover .tmp is overwritten on the next run
+                }
+            }
+        }
+
+        // Fills 'text' with the day's statement and returns the number of transactions on it,
+        // or -1 for an account opened after that day
+        private int render(Account acc, RunState state) {
+            TransactionLog log = acc.getTransactionLog();
+            int start = log.lowerBound(state.dayStart);
+            int end = Math.max(start, log.lowerBound(state.dayStart + DAY_MILLIS));
+            if (end == 0 && log.size() > 0) {
+                return -1;
+            }
+            // Before the opening deposit the balance was zero; an account with no history at all shows its balance
+            double opening = start > 0 ? log.getBalanceAfterAt(start - 1) : log.size() > 0 ? 0 : acc.getBalance();
+            double closing = end > 0 ? log.getBalanceAfterAt(end - 1) : opening;
+
+            text.setLength(0);
+            text.append("🏦 ").append(bankName).append(" - IFSC: ").append(ifscCode).append('\n');
+            text.append("Statement for ").append(state.date).append('\n');
+            text.append("Account: ").append(acc.getAccountNumber()).append(" (").append(acc.getType())
+                    .append(")\n");
+            text.append("Holder: ").append(acc.getHolderName()).append('\n');
+            Transaction.appendAmount(text.append("Opening balance: ").append(CURRENCY), opening).append('\n');
+            for (int i = start; i < end; i++) {
+                Transaction.appendLine(text, TransactionLog.toDateTime(log.getTimestampMillisAt(i)),
+                        log.getTypeAt(i), log.getAmountAt(i), log.getBalanceAfterAt(i), log.getDescriptionAt(i),
+                        CURRENCY).append('\n');
+            }
+            Transaction.appendAmount(text.append("Closing balance: ").append(CURRENCY), closing).append('\n');
+            text.append("Transactions: ").append(end - start).append('\n');
+            return end - start;
+        }
+
+        private long encodeTo(FileChannel channel) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            buffer.clear();
+            long size = 0;
+            boolean flushed = false;
+            while (true) {
+                CoderResult result = flushed ? encoder.flush(buffer) : encoder.encode(chars, buffer, true);
+                if (result.isUnderflow()) {
+                    if (flushed) {
+                        break;
+                    }
+                    flushed = true;
+                    continue;
+                }
+                if (result.isError()) {
+                    result.throwException();
+                }
+                size += drain(channel); // overflow: buffer full
+            }
+            return size + drain(channel);
+        }
+
+        private int drain(FileChannel channel) throws IOException {
+            buffer.flip();
+            int size = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            return size;
+        }
+    }
+}
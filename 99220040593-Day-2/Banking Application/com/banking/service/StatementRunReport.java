@@ -0,0 +1,80 @@
+package com.banking.service;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+public class StatementRunReport {
+    private final LocalDate date;
+    private final Path directory;
+    private final long written;
+    private final long skipped;
+    private final long failed;
+    private final List<String> failedSample;
+    private final long transactions;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    public StatementRunReport(LocalDate date, Path directory, long written, long skipped, long failed,
+            List<String> failedSample, long transactions, long bytes, long elapsedNanos) {
+        this.date = date;
+        this.directory = directory;
+        this.written = written;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.failedSample = failedSample;
+        this.transactions = transactions;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    // Statements already present from an earlier, interrupted run
+    public long getSkipped() {
+        return skipped;
+    }
+
+    // Statements that could not be written; running again for the same date retries just these
+    public long getFailed() {
+        return failed;
+    }
+
+    // The first few failed account numbers, for the log
+    public List<String> getFailedSample() {
+        return failedSample;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getStatementsPerSecond() {
+        return elapsedNanos == 0 ? 0 : written * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d statements (%d already done, %d failed), %d transactions, %.1f MB in %d ms "
+                + "(%.0f statements/s) -> %s", written, skipped, failed, transactions, bytes / 1e6,
+                getElapsedMillis(), getStatementsPerSecond(), directory);
+    }
+}
@@ -0,0 +1,36 @@
+package com.banking.service;
+
+public class TransferInstruction {
+    private final String fromAccount;
+    private final String toAccount;
+    private final double amount;
+    private final String description;
+
+    public TransferInstruction(String fromAccount, String toAccount, double amount, String description) {
+        this.fromAccount = fromAccount;
+        this.toAccount = toAccount;
+        this.amount = amount;
+        this.description = description;
+    }
+
+    public String getFromAccount() {
+        return fromAccount;
+    }
+
+    public String getToAccount() {
+        return toAccount;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s -> %s ₹%.2f (%s)", fromAccount, toAccount, amount, description);
+    }
+}
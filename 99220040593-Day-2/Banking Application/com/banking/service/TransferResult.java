@@ -0,0 +1,38 @@
+package com.banking.service;
+
+public class TransferResult {
+    private final TransferInstruction instruction;
+    private final boolean success;
+    private final String message;
+
+    private TransferResult(TransferInstruction instruction, boolean success, String message) {
+        this.instruction = instruction;
+        this.success = success;
+        this.message = message;
+    }
+
+    public static TransferResult completed(TransferInstruction instruction) {
+        return new TransferResult(instruction, true, "Completed");
+    }
+
+    public static TransferResult rejected(TransferInstruction instruction, String reason) {
+        return new TransferResult(instruction, false, reason);
+    }
+
+    public TransferInstruction getInstruction() {
+        return instruction;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return (success ? "✅ " : "❌ ") + instruction + " | " + message;
+    }
+}
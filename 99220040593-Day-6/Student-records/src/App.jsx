@@ -11,20 +11,27 @@ function App() {
   });
   const [editingId, setEditingId] = useState(null);
   const [loading, setLoading] = useState(false);
+  // afterId of every page visited so far (null for the first), so Previous can step back
+  const [pageCursors, setPageCursors] = useState([null]);
+  const [nextCursor, setNextCursor] = useState(null);
 
   const API_URL = 'http://localhost:8080/api/students';
+  const PAGE_SIZE = 24;
 
-  // Fetch all students
+  const currentCursor = pageCursors[pageCursors.length - 1];
+
+  // Fetch the first page of students
   useEffect(() => {
-    fetchStudents();
+    fetchStudents(null);
   }, []);
 
-  const fetchStudents = async () => {
+  // Loads only the page that starts after `cursor`; the server's X-Next-Cursor says where the next one starts
+  const fetchStudents = async (cursor) => {
     try {
       setLoading(true);
-      const response = await fetch(API_URL);
-      const data = await response.json();
-      setStudents(data);
+      const response = await fetch(`${API_URL}?limit=${PAGE_SIZE}${cursor ? `&afterId=${cursor}` : ''}`);
+      setStudents(await response.json());
+      setNextCursor(response.headers.get('X-Next-Cursor'));
     } catch (error) {
       console.error('Error fetching students:', error);
       alert('Failed to fetch students. Make sure the backend is running.');
@@ -33,6 +40,17 @@ function App() {
     }
   };
 
+  const handleNextPage = () => {
+    setPageCursors([...pageCursors, nextCursor]);
+    fetchStudents(nextCursor);
+  };
+
+  const handlePreviousPage = () => {
+    const previous = pageCursors.slice(0, -1);
+    setPageCursors(previous);
+    fetchStudents(previous[previous.length - 1]);
+  };
+
   // Handle form input changes
   const handleChange = (e) => {
     setFormData({
@@ -81,7 +99,7 @@ function App() {
       // Reset form and refresh list
       setFormData({ name: '', subject1: '', subject2: '', subject3: '' });
       setEditingId(null);
-      fetchStudents();
+      fetchStudents(currentCursor);
     } catch (error) {
       console.error('Error saving student:', error);
       alert('Failed to save student');
@@ -110,7 +128,7 @@ function App() {
       setLoading(true);
       await fetch(`${API_URL}/${id}`, { method: 'DELETE' });
       alert('Student deleted successfully!');
-      fetchStudents();
+      fetchStudents(currentCursor);
     } catch (error) {
       console.error('Error deleting student:', error);
       alert('Failed to delete student');
@@ -222,12 +240,16 @@ function App() {
 
         {/* Students List */}
         <div className="students-section">
-          <h2>📋 All Students ({students.length})</h2>
+          <h2>📋 Students (page {pageCursors.length})</h2>
 
           {loading && <p className="loading">Loading...</p>}
 
           {!loading && students.length === 0 && (
-            <p className="empty-state">No students found. Add your first student above!</p>
+            <p className="empty-state">
+              {pageCursors.length === 1
+                ? 'No students found. Add your first student above!'
+                : 'No students on this page.'}
+            </p>
           )}
 
           <div className="students-grid">
@@ -289,6 +311,23 @@ function App() {
               </div>
             ))}
           </div>
+
+          <div className="pagination">
+            <button
+              className="btn btn-secondary"
+              onClick={handlePreviousPage}
+              disabled={loading || pageCursors.length === 1}
+            >
+              ⬅️ Previous
+            </button>
+            <button
+              className="btn btn-secondary"
+              onClick={handleNextPage}
+              disabled={loading || !nextCursor}
+            >
+              Next ➡️
+            </button>
+          </div>
         </div>
       </div>
     </div>
@@ -0,0 +1,20 @@
+package com.studentrecords.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Streamed exports run as async requests; the servlet container's default
+     * timeout (30 seconds on Tomcat) would cut off a large export part way.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(TimeUnit.MINUTES.toMillis(30));
+    }
+}
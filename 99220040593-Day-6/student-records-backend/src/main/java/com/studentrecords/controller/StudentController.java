@@ -1,22 +1,43 @@
 package com.studentrecords.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentrecords.dto.CacheStats;
+import com.studentrecords.dto.StudentImportResult;
+import com.studentrecords.dto.StudentPage;
 import com.studentrecords.model.Student;
+import com.studentrecords.service.StudentExporter;
 import com.studentrecords.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/students")
-@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" },
+        exposedHeaders = StudentController.NEXT_CURSOR_HEADER)
 public class StudentController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private StudentExporter studentExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Create a new student
      * POST /api/students
@@ -28,13 +49,78 @@ public class StudentController {
     }
 
     /**
-     * Get all students
-     * GET /api/students
+     * Create many students in one request
+     * POST /api/students/batch
+     * Accepts a JSON array or newline-delimited JSON (application/x-ndjson); records are read
+     * one at a time, so the request body is never held in memory as a whole.
+     */
+    @PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<StudentImportResult> importStudents(InputStream body) throws IOException {
+        try (MappingIterator<Student> records = objectMapper.readerFor(Student.class).readValues(body)) {
+            StudentImportResult result = studentService.importStudents(records);
+            return new ResponseEntity<>(result, result.getError() == null ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Get students a page at a time, in id order
+     * GET /api/students?afterId=&limit=&grade=&minTotal=&maxTotal=
+     * The X-Next-Cursor response header carries the afterId of the next page; it is absent on the last page.
      */
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentService.getAllStudents();
-        return new ResponseEntity<>(students, HttpStatus.OK);
+    public ResponseEntity<List<Student>> getAllStudents(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String grade,
+            @RequestParam(required = false) Integer minTotal,
+            @RequestParam(required = false) Integer maxTotal) {
+        try {
+            StudentPage page = studentService.getStudentPage(afterId, limit, grade, minTotal, maxTotal);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+            }
+            return response.body(page.getStudents());
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Export all students
+     * GET /api/students/export?format=ndjson|csv
+     * Rows are written to the response as they are read from the database.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "ndjson") String format) {
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format.toLowerCase()) {
+            case "ndjson" -> {
+                body = out -> studentExporter.writeNdjson(out);
+                contentType = MediaType.APPLICATION_NDJSON;
+            }
+            case "csv" -> {
+                body = out -> studentExporter.writeCsv(out);
+                contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+            }
+            default -> {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students." + format.toLowerCase() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Get lookup cache statistics
+     * GET /api/students/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return new ResponseEntity<>(studentService.getCacheStats(), HttpStatus.OK);
     }
 
     /**
@@ -0,0 +1,26 @@
+package com.studentrecords.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Counters of the student lookup cache since startup
+ */
+@Data
+@AllArgsConstructor
+public class CacheStats {
+
+    private int size;
+
+    private int maxSize;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long expirations;
+
+    private double hitRate;
+}
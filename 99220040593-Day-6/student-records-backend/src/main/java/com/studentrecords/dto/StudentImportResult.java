@@ -0,0 +1,17 @@
+package com.studentrecords.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of a bulk import. Records are committed in chunks, so when error is set
+ * the first imported records are saved and the rest of the request was not.
+ */
+@Data
+@AllArgsConstructor
+public class StudentImportResult {
+
+    private long imported;
+
+    private String error;
+}
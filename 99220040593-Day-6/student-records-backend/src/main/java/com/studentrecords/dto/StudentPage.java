@@ -0,0 +1,20 @@
+package com.studentrecords.dto;
+
+import com.studentrecords.model.Student;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated student listing.
+ * nextCursor is the id to pass as afterId for the next page, or null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class StudentPage {
+
+    private List<Student> students;
+
+    private Long nextCursor;
+}
@@ -6,14 +6,22 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        // Keyset pages are read in id order; each filter index ends in id so it can serve that order too
+        @Index(name = "idx_students_grade_id", columnList = "grade, id"),
+        @Index(name = "idx_students_total_id", columnList = "total, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
     
+    // Ids come from a sequence in blocks of ID_BLOCK_SIZE, so new rows can be inserted in JDBC batches
+    public static final int ID_BLOCK_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_id_seq")
+    @SequenceGenerator(name = "students_id_seq", sequenceName = "students_id_seq", allocationSize = ID_BLOCK_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 100)
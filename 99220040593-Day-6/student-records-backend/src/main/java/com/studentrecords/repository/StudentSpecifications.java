@@ -0,0 +1,30 @@
+package com.studentrecords.repository;
+
+import com.studentrecords.model.Student;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Query filters for student listings. Only the filters actually given end up in the SQL,
+ * so the database can pick the matching index for each combination.
+ */
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> idAfter(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    public static Specification<Student> hasGrade(String grade) {
+        return (root, query, cb) -> cb.equal(root.get("grade"), grade);
+    }
+
+    public static Specification<Student> totalAtLeast(int minTotal) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("total"), minTotal);
+    }
+
+    public static Specification<Student> totalAtMost(int maxTotal) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("total"), maxTotal);
+    }
+}
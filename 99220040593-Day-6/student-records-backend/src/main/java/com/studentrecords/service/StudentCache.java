@@ -0,0 +1,109 @@
+package com.studentrecords.service;
+
+import com.studentrecords.dto.CacheStats;
+import com.studentrecords.model.Student;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process cache of students by id, in front of the database.
+ * Least recently used entries are evicted once maxSize is reached, and an entry
+ * is dropped on the first read after it is older than the time-to-live.
+ *
+ * Entries hold copies, so callers never share a mutable Student with the cache.
+ * Lookups that race with a write are guarded by a stamp: a value read from the
+ * database is only cached if no invalidation happened since the read began.
+ */
+@Component
+public class StudentCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<Long, CachedStudent> entries;
+
+    private long invalidations;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public StudentCache(@Value("${students.cache.max-size:10000}") int maxSize,
+                        @Value("${students.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        // Access order makes the eldest entry the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedStudent> eldest) {
+                if (size() > StudentCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached copy of the student, or null on a miss
+     */
+    public synchronized Student get(Long id) {
+        CachedStudent entry = entries.get(id);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.cachedAt > ttlNanos) {
+            entries.remove(id);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyOf(entry.student);
+    }
+
+    /**
+     * Take before reading from the database, and pass to put
+     */
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    public synchronized void put(Student student, long stamp) {
+        if (stamp != invalidations || maxSize <= 0) {
+            return; // written or deleted while it was being read; the value may be stale
+        }
+        entries.put(student.getId(), new CachedStudent(copyOf(student), System.nanoTime()));
+    }
+
+    public synchronized void invalidate(Long id) {
+        entries.remove(id);
+        invalidations++;
+    }
+
+    public synchronized CacheStats stats() {
+        long lookups = hits + misses;
+        return new CacheStats(entries.size(), maxSize, hits, misses, evictions, expirations,
+                lookups == 0 ? 0 : (double) hits / lookups);
+    }
+
+    private static Student copyOf(Student student) {
+        return new Student(student.getId(), student.getName(), student.getSubject1(), student.getSubject2(),
+                student.getSubject3(), student.getTotal(), student.getGrade());
+    }
+
+    private static class CachedStudent {
+        final Student student;
+        final long cachedAt;
+
+        CachedStudent(Student student, long cachedAt) {
+            this.student = student;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.studentrecords.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.studentrecords.model.Student;
+import com.studentrecords.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every student to an output stream as it is read from the database.
+ * Each row is detached once written, so memory use does not grow with the table.
+ */
+@Service
+public class StudentExporter {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * One JSON object per line (NDJSON)
+     */
+    @Transactional(readOnly = true)
+    public long writeNdjson(OutputStream out) throws IOException {
+        // Flushing after every row would turn each student into its own network write
+        ObjectWriter writer = objectMapper.writerFor(Student.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+        try (Stream<Student> students = studentRepository.streamAllOrderById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null); // rows are separated by the newline alone
+            Iterator<Student> it = students.iterator();
+            while (it.hasNext()) {
+                Student student = it.next();
+                writer.writeValue(generator, student);
+                generator.writeRaw('\n');
+                entityManager.detach(student);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * CSV with a header row
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(OutputStream out) throws IOException {
+        long rows = 0;
+        // Not closed: the caller owns the output stream
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try (Stream<Student> students = studentRepository.streamAllOrderById()) {
+            writer.write("id,name,subject1,subject2,subject3,total,grade\n");
+            Iterator<Student> it = students.iterator();
+            while (it.hasNext()) {
+                Student student = it.next();
+                writer.write(String.valueOf(student.getId()));
+                writer.write(',');
+                writeCsvField(writer, student.getName());
+                writer.write(',');
+                writer.write(String.valueOf(student.getSubject1()));
+                writer.write(',');
+                writer.write(String.valueOf(student.getSubject2()));
+                writer.write(',');
+                writer.write(String.valueOf(student.getSubject3()));
+                writer.write(',');
+                writer.write(String.valueOf(student.getTotal()));
+                writer.write(',');
+                writeCsvField(writer, student.getGrade());
+                writer.write('\n');
+                entityManager.detach(student);
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // Quote a field only when it contains a separator, a quote or a line break
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,19 +1,43 @@
 package com.studentrecords.service;
 
+import com.studentrecords.dto.CacheStats;
+import com.studentrecords.dto.StudentImportResult;
+import com.studentrecords.dto.StudentPage;
 import com.studentrecords.model.Student;
 import com.studentrecords.repository.StudentRepository;
+import com.studentrecords.repository.StudentSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class StudentService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StudentCache studentCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Calculate total marks and assign grade based on average
      * Grade A: Average >= 80
@@ -52,10 +76,106 @@ public class StudentService {
     }
 
     /**
-     * Get all students
+     * Import students from a stream of records, IMPORT_CHUNK_SIZE per transaction.
+     * Stops at the first record that cannot be read or is incomplete; chunks before it stay committed.
+     */
+    public StudentImportResult importStudents(Iterator<Student> records) {
+        long imported = 0;
+        List<Student> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        while (true) {
+            Student student;
+            try {
+                if (!records.hasNext()) {
+                    break;
+                }
+                student = records.next();
+            } catch (RuntimeException e) {
+                saveChunk(chunk);
+                return new StudentImportResult(imported + chunk.size(),
+                        "Record " + (imported + chunk.size() + 1) + " could not be read: " + e.getMessage());
+            }
+            String problem = validate(student);
+            if (problem != null) {
+                saveChunk(chunk);
+                return new StudentImportResult(imported + chunk.size(),
+                        "Record " + (imported + chunk.size() + 1) + ": " + problem);
+            }
+            chunk.add(student);
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                imported += saveChunk(chunk);
+                chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            }
+        }
+        imported += saveChunk(chunk);
+        return new StudentImportResult(imported, null);
+    }
+
+    private static String validate(Student student) {
+        if (student == null) {
+            return "Student cannot be null";
+        }
+        if (student.getName() == null || student.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (student.getSubject1() == null || student.getSubject2() == null || student.getSubject3() == null) {
+            return "All three subject marks are required";
+        }
+        return null;
+    }
+
+    /**
+     * Persist one chunk in its own transaction. Ids come from the pooled sequence, so
+     * the inserts go out as JDBC batches; the persistence context is cleared afterwards
+     * so a long import does not keep every entity in memory.
+     */
+    private int saveChunk(List<Student> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Student student : chunk) {
+                student.setId(null);
+                calculateTotalAndGrade(student);
+            }
+            studentRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return chunk.size();
+    }
+
+    /**
+     * Get one page of students in id order, starting after the given cursor.
+     * Reads limit + 1 rows so the last page is known without an extra query.
      */
-    public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+    public StudentPage getStudentPage(Long afterId, int limit, String grade, Integer minTotal, Integer maxTotal) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        if (minTotal != null && maxTotal != null && minTotal > maxTotal) {
+            throw new IllegalArgumentException("minTotal cannot be greater than maxTotal");
+        }
+        int size = Math.min(limit, MAX_PAGE_SIZE);
+
+        Specification<Student> filter = StudentSpecifications.idAfter(afterId == null ? 0L : afterId);
+        if (grade != null && !grade.isBlank()) {
+            filter = filter.and(StudentSpecifications.hasGrade(grade.trim().toUpperCase()));
+        }
+        if (minTotal != null) {
+            filter = filter.and(StudentSpecifications.totalAtLeast(minTotal));
+        }
+        if (maxTotal != null) {
+            filter = filter.and(StudentSpecifications.totalAtMost(maxTotal));
+        }
+        List<Student> students = studentRepository.findBy(filter,
+                query -> query.sortBy(Sort.by("id")).limit(size + 1).all());
+
+        Long nextCursor = null;
+        if (students.size() > size) {
+            students = students.subList(0, size);
+            nextCursor = students.get(size - 1).getId();
+        }
+        return new StudentPage(students, nextCursor);
     }
 
     /**
@@ -65,7 +185,21 @@ public class StudentService {
         if (id == null) {
             throw new IllegalArgumentException("Student ID cannot be null");
         }
-        return studentRepository.findById(id);
+        Student cached = studentCache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = studentCache.stamp();
+        Optional<Student> student = studentRepository.findById(id);
+        student.ifPresent(found -> studentCache.put(found, stamp));
+        return student;
+    }
+
+    /**
+     * Hit, miss and eviction counts of the getStudentById cache
+     */
+    public CacheStats getCacheStats() {
+        return studentCache.stats();
     }
 
     /**
@@ -88,7 +222,9 @@ public class StudentService {
         student.setSubject3(studentDetails.getSubject3());
 
         calculateTotalAndGrade(student);
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        studentCache.invalidate(id);
+        return saved;
     }
 
     /**
@@ -99,5 +235,6 @@ public class StudentService {
             throw new IllegalArgumentException("Student ID cannot be null");
         }
         studentRepository.deleteById(id);
+        studentCache.invalidate(id);
     }
 }